@@ -7,13 +7,12 @@ import io.github.mqzn.commands.arguments.ArgumentNumber;
 import io.github.mqzn.commands.base.CommandInfo;
 import io.github.mqzn.commands.base.CommandRequirement;
 import io.github.mqzn.commands.base.Information;
-import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.cooldown.CommandCooldown;
+import io.github.mqzn.commands.base.cooldown.CommandRateLimit;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
 import io.github.mqzn.commands.base.syntax.SyntaxFlags;
-import io.github.mqzn.commands.sender.SenderWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -59,6 +58,17 @@ public final class AnnotationParser<S> {
 			builder.cooldown(commandCooldown);
 		}
 
+		if (annotatedCommand.getClass().isAnnotationPresent(RateLimit.class)) {
+			RateLimit rateLimit = annotatedCommand.getClass().getAnnotation(RateLimit.class);
+			assert rateLimit != null;
+			builder.rateLimit(CommandRateLimit.builder()
+							.permits(rateLimit.permits())
+							.window(rateLimit.window(), rateLimit.unit())
+							.algorithm(rateLimit.algorithm())
+							.scope(rateLimit.scope())
+							.build());
+		}
+
 		for (var requirementClass : cmdAnnotation.requirements()) {
 
 			if (Enum.class.isAssignableFrom(requirementClass)) {
@@ -88,15 +98,8 @@ public final class AnnotationParser<S> {
 				if (method.getParameters().length == 1 && method.isAnnotationPresent(Default.class)) {
 
 					//default Execution
-					builder.defaultExecutor((sender, context) -> {
-
-						try {
-							method.invoke(annotatedCommand, sender);
-						} catch (IllegalAccessException | InvocationTargetException e) {
-							throw new RuntimeException(e);
-						}
-
-					});
+					MethodInvoker invoker = MethodInvoker.ofSender(annotatedCommand, method);
+					builder.defaultExecutor(invoker::invoke);
 				}
 
 				continue;
@@ -124,16 +127,7 @@ public final class AnnotationParser<S> {
 
 			syntaxBuilder.info(new Information(syntaxMeta.permission(), syntaxMeta.description()))
 							.flags(flags)
-							.execute((sender, context) -> {
-								Object[] valuesToUse = readValues(method, sender, context);
-
-								try {
-									method.invoke(annotatedCommand, valuesToUse);
-								} catch (IllegalAccessException | InvocationTargetException e) {
-									throw new RuntimeException(e);
-								}
-
-							});
+							.execute(MethodInvoker.ofSyntax(annotatedCommand, method, arguments)::invoke);
 
 			builder.syntax(syntaxBuilder.build());
 
@@ -230,61 +224,10 @@ public final class AnnotationParser<S> {
 	}
 
 
-	/**
-	 * Reads values from the context used and links it with the method
-	 * to be invoked when the command is executed
-	 * for example: a method has 2 params, one must be  the command sender and the other can be an argument
-	 * the cmd executed is /test2 alert hello world, the second argument is stated to be {@link Greedy} which
-	 * will consume the remaining arguments after it's position/index
-	 * basically the values are the parameters of the method to be used in invocation of that method
-	 * first param must be the sender {@link SenderWrapper} and the other params can be other data types
-	 *
-	 * @param method  the method that will be invoked
-	 * @param sender  the command sender
-	 * @param context the command context
-	 * @return the parameters of the method to be used in invocation of that method
-	 */
-	@NotNull
-	private <C> Object[] readValues(Method method, C sender, Context<S> context) {
-
-		var parameters = method.getParameters();
-		Object[] values = new Object[parameters.length];
-		values[0] = sender;
-
-		for (int index = 0, p = index + 1; p < parameters.length; index++, p++) {
-
-			Object value;
-			Parameter parameter = parameters[p];
-			if (isParamFlag(parameter)) {
-				String flagName = getFlagFromParameter(parameter);
-				assert flagName != null;
-				value = context.flags().isPresent(flagName);
-			} else {
-
-				value = context.getArgument(index);
-				while (value == null && index++ < context.parsedArguments())
-					value = context.getArgument(index);
-
-			}
-
-
-			if (value == null)
-				break;
-
-			values[p] = value;
-		}
-
-		return values;
-	}
-
 	private boolean isParamArgument(@NotNull Parameter parameter) {
 		return parameter.isAnnotationPresent(Arg.class) && !parameter.isAnnotationPresent(Flag.class);
 	}
 
-	private boolean isParamFlag(@NotNull Parameter parameter) {
-		return parameter.isAnnotationPresent(Flag.class) && !parameter.isAnnotationPresent(Arg.class);
-	}
-
 	/**
 	 * Loads arguments from the method and it's parameters
 	 * into an array of required syntax arguments
@@ -368,7 +311,7 @@ public final class AnnotationParser<S> {
 
 		for (Parameter parameter : typeParameters) {
 
-			if (isSenderParam(syntaxMeta, parameter)) continue;
+			if (isSenderParam(syntaxMeta, parameter) || isParamArgument(parameter)) continue;
 
 			String flag = getFlagFromParameter(parameter);
 			if (flag == null) {
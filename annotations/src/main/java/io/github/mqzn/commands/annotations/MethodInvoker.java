@@ -0,0 +1,132 @@
+package io.github.mqzn.commands.annotations;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * A direct invoker of an annotated command method, compiled once when the command is parsed.
+ * <p>
+ * The source of each parameter (the sender, the slot of an argument in the syntax or a flag)
+ * is resolved ahead of time and bound into a single method handle of type (Object, Context)void,
+ * so executing the method allocates no array, never re-reads the parameters, and
+ * never wraps the exceptions thrown by the method.
+ */
+final class MethodInvoker {
+
+	private final static MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Context.class);
+
+	private final static MethodHandle GET_ARGUMENT, FLAGS, IS_FLAG_PRESENT;
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		try {
+			GET_ARGUMENT = lookup.findVirtual(Context.class, "getArgument", MethodType.methodType(Object.class, int.class));
+			FLAGS = lookup.findVirtual(Context.class, "flags", MethodType.methodType(ContextFlagRegistry.class));
+			IS_FLAG_PRESENT = lookup.findVirtual(ContextFlagRegistry.class, "isPresent", MethodType.methodType(boolean.class, String.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@NotNull
+	private final MethodHandle handle;
+
+	private MethodInvoker(@NotNull MethodHandle handle) {
+		this.handle = handle;
+	}
+
+	/**
+	 * Compiles an invoker for a method that only takes the sender
+	 *
+	 * @param instance the instance of the annotated command
+	 * @param method   the method to invoke
+	 * @return the compiled invoker
+	 */
+	static @NotNull MethodInvoker ofSender(@NotNull Object instance, @NotNull Method method) {
+		MethodHandle target = unreflect(instance, method);
+		return new MethodInvoker(MethodHandles.dropArguments(target.asType(target.type().changeParameterType(0, Object.class)), 1, Context.class));
+	}
+
+	/**
+	 * Compiles an invoker for a method whose first parameter is the sender,
+	 * and the others are either arguments of the syntax or flags
+	 *
+	 * @param instance  the instance of the annotated command
+	 * @param method    the method to invoke
+	 * @param arguments the arguments of the syntax, by their position
+	 * @return the compiled invoker
+	 */
+	static @NotNull MethodInvoker ofSyntax(@NotNull Object instance, @NotNull Method method, @NotNull Argument<?>[] arguments) {
+		Parameter[] parameters = method.getParameters();
+
+		MethodHandle target = unreflect(instance, method);
+		target = target.asType(target.type().changeParameterType(0, Object.class));
+
+		// turning each parameter into a getter of it's value from the context
+		MethodHandle[] getters = new MethodHandle[parameters.length - 1];
+		for (int p = 1; p < parameters.length; p++)
+			getters[p - 1] = getterOf(method, parameters[p], arguments).asType(MethodType.methodType(parameters[p].getType(), Context.class));
+
+		target = MethodHandles.filterArguments(target, 1, getters);
+
+		// then feeding all the getters the same context
+		int[] reorder = new int[parameters.length];
+		for (int p = 1; p < parameters.length; p++)
+			reorder[p] = 1;
+
+		return new MethodInvoker(MethodHandles.permuteArguments(target, INVOKER_TYPE, reorder));
+	}
+
+	@NotNull
+	private static MethodHandle unreflect(@NotNull Object instance, @NotNull Method method) {
+		method.trySetAccessible();
+		try {
+			return MethodHandles.lookup().unreflect(method).bindTo(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(String.format("Method '%s' is not accessible !", method.getName()), e);
+		}
+	}
+
+	@NotNull
+	private static MethodHandle getterOf(@NotNull Method method, @NotNull Parameter parameter, @NotNull Argument<?>[] arguments) {
+		Flag flag = parameter.getAnnotation(Flag.class);
+		if (flag != null)
+			return MethodHandles.filterReturnValue(FLAGS, MethodHandles.insertArguments(IS_FLAG_PRESENT, 1, flag.name()));
+
+		Arg arg = parameter.getAnnotation(Arg.class);
+		for (int slot = 0; arg != null && slot < arguments.length; slot++) {
+			Argument<?> argument = arguments[slot];
+			if (argument != null && !(argument instanceof ArgumentLiteral) && argument.id().equals(arg.id()))
+				return MethodHandles.insertArguments(GET_ARGUMENT, 1, slot);
+		}
+
+		throw new IllegalArgumentException(String.format(
+						"Parameter '%s' in method '%s' is neither an argument of the syntax nor a flag", parameter.getName(), method.getName()));
+	}
+
+	/**
+	 * Invokes the method
+	 *
+	 * @param sender  the command sender
+	 * @param context the command context
+	 */
+	void invoke(@NotNull Object sender, @NotNull Context<?> context) {
+		try {
+			handle.invokeExact(sender, (Context) context);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
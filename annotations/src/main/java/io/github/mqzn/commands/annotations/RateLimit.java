@@ -0,0 +1,28 @@
+package io.github.mqzn.commands.annotations;
+
+import io.github.mqzn.commands.base.cooldown.CommandRateLimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RateLimit {
+
+	/**
+	 * @return the number of uses allowed per window
+	 */
+	int permits();
+
+	long window();
+
+	TimeUnit unit() default TimeUnit.SECONDS;
+
+	CommandRateLimit.Algorithm algorithm() default CommandRateLimit.Algorithm.TOKEN_BUCKET;
+
+	CommandRateLimit.Scope scope() default CommandRateLimit.Scope.SENDER;
+
+}
@@ -0,0 +1,25 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.annotations.Arg;
+import io.github.mqzn.commands.annotations.Command;
+import io.github.mqzn.commands.annotations.CommandSyntaxMeta;
+import io.github.mqzn.commands.annotations.Flag;
+
+/**
+ * An annotated command equivalent to the hand-written one of {@link AnnotationBenchmark}
+ */
+@Command(name = "annotated")
+public final class AnnotatedCommand {
+
+	long executions;
+
+	@CommandSyntaxMeta(syntax = "set <key> <amount> <ratio>")
+	public void set(FakeSender sender,
+	                @Arg(id = "key") String key,
+	                @Arg(id = "amount") int amount,
+	                @Arg(id = "ratio") double ratio,
+	                @Flag(name = "alpha") boolean alpha) {
+		executions++;
+	}
+
+}
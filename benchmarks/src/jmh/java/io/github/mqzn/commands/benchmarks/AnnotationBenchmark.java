@@ -0,0 +1,70 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.annotations.AnnotationParser;
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the execution of an annotated command
+ * with the execution of the same command written by hand
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnnotationBenchmark {
+
+	private final static String[] INPUT = {"set", "-a", "key", "42", "4.2"};
+
+	private final FakeSender sender = new FakeSender("benchmark");
+
+	private final AnnotatedCommand annotatedCommand = new AnnotatedCommand();
+
+	private BenchmarkManager manager;
+
+	private Command<FakeSender> annotated, handWritten;
+
+	private long executions;
+
+	@Setup
+	public void setup() {
+		manager = BenchmarkManager.get();
+
+		new AnnotationParser<>(manager).parse(annotatedCommand);
+		annotated = manager.getCommand("annotated");
+
+		handWritten = Command.builder(manager, "handwritten")
+						.syntax(CommandSyntaxBuilder.<FakeSender, FakeSender>genericBuilder(FakeSender.class, "handwritten")
+										.argument(Argument.literal("set"))
+										.argument(Argument.word("key"))
+										.argument(Argument.integer("amount"))
+										.argument(Argument.Double("ratio"))
+										.flags("alpha")
+										.execute((sender, context) -> {
+											String key = context.getArgument(1);
+											Integer amount = context.getArgument(2);
+											Double ratio = context.getArgument(3);
+											boolean alpha = context.flags().isPresent("alpha");
+											executions++;
+										})
+										.build())
+						.build();
+		manager.registerCommand(handWritten);
+	}
+
+	@Benchmark
+	public long annotated() {
+		manager.executeCommand(annotated, sender, INPUT);
+		return annotatedCommand.executions;
+	}
+
+	@Benchmark
+	public long handWritten() {
+		manager.executeCommand(handWritten, sender, INPUT);
+		return executions;
+	}
+
+}
@@ -0,0 +1,48 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.base.manager.AbstractCommandManager;
+import io.github.mqzn.commands.base.manager.flags.FlagInfo;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The command manager shared by all the benchmarks of a fork,
+ * only one manager can be created per JVM since the flag registry is a singleton
+ */
+public final class BenchmarkManager extends AbstractCommandManager<Object, FakeSender> {
+
+	/**
+	 * The flags registered, each one is aliased by it's first char
+	 */
+	public final static String[] FLAGS = {"alpha", "beta", "gamma", "delta"};
+
+	private BenchmarkManager() {
+		super(new Object(), new FakeSenderWrapper());
+
+		// the execution log would otherwise dominate the measurements
+		Logger.getLogger("CommandManager-Logger").setLevel(Level.WARNING);
+
+		for (String flag : FLAGS)
+			flagRegistry().registerFlag(FlagInfo.builder(flag).aliases(flag.substring(0, 1)).build());
+
+		senderProviderRegistry().registerSenderProvider(FakeSender.class, (sender) -> sender);
+	}
+
+	public static @NotNull BenchmarkManager get() {
+		return Holder.INSTANCE;
+	}
+
+	@Override
+	public char commandStarter() {
+		return '/';
+	}
+
+	private final static class Holder {
+
+		private final static BenchmarkManager INSTANCE = new BenchmarkManager();
+
+	}
+
+}
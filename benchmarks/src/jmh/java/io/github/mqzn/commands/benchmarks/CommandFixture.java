@@ -0,0 +1,119 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.syntax.CommandExecution;
+import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the commands and the inputs used by the benchmarks.
+ * <p>
+ * A command has a number of syntaxes, each one starts with the literal "sub{index}"
+ * followed by a number of arguments cycling through a word, an integer and a double,
+ * all the registered flags are allowed in every syntax.
+ */
+public final class CommandFixture {
+
+	private final static String[] VALUES = {"value", "42", "4.2"};
+
+	private CommandFixture() {
+
+	}
+
+	/**
+	 * Creates and registers a command
+	 *
+	 * @param manager   the manager
+	 * @param name      the name of the command
+	 * @param syntaxes  the number of syntaxes
+	 * @param arguments the number of arguments in each syntax, after it's literal
+	 * @param execution the execution of every syntax
+	 * @return the command registered
+	 */
+	public static @NotNull Command<FakeSender> register(@NotNull BenchmarkManager manager,
+	                                                     @NotNull String name,
+	                                                     int syntaxes,
+	                                                     int arguments,
+	                                                     @NotNull CommandExecution<FakeSender, FakeSender> execution) {
+
+		Command.Builder<FakeSender> builder = Command.builder(manager, name);
+
+		for (int s = 0; s < syntaxes; s++) {
+			CommandSyntaxBuilder<FakeSender, FakeSender> syntax = CommandSyntaxBuilder.<FakeSender, FakeSender>genericBuilder(FakeSender.class, name)
+							.argument(Argument.literal("sub" + s));
+
+			for (int a = 0; a < arguments; a++) {
+				String id = "arg" + a;
+				syntax.argument(switch (a % VALUES.length) {
+					case 0 -> Argument.word(id);
+					case 1 -> Argument.integer(id);
+					default -> Argument.Double(id);
+				});
+			}
+
+			builder.syntax(syntax.flags(BenchmarkManager.FLAGS).execute(execution).build());
+		}
+
+		Command<FakeSender> command = builder.build();
+		manager.registerCommand(command);
+		return command;
+	}
+
+	/**
+	 * Creates an input matching one of the syntaxes of a command
+	 * created by {@link #register(BenchmarkManager, String, int, int, CommandExecution)}
+	 *
+	 * @param syntax    the index of the syntax to match
+	 * @param arguments the number of arguments in the syntax
+	 * @param density   how many flags are used
+	 * @return the raw arguments
+	 */
+	public static @NotNull String[] input(int syntax, int arguments, @NotNull FlagDensity density) {
+		List<String> input = new ArrayList<>(1 + arguments * 2);
+		input.add("sub" + syntax);
+
+		if (density == FlagDensity.COMBINED)
+			input.add(combinedFlags());
+
+		for (int a = 0; a < arguments; a++) {
+			if (density == FlagDensity.SEPARATE && a < BenchmarkManager.FLAGS.length)
+				input.add("-" + BenchmarkManager.FLAGS[a].charAt(0));
+
+			input.add(VALUES[a % VALUES.length]);
+		}
+
+		return input.toArray(new String[0]);
+	}
+
+	private static @NotNull String combinedFlags() {
+		StringBuilder builder = new StringBuilder("-");
+		for (String flag : BenchmarkManager.FLAGS)
+			builder.append(flag.charAt(0));
+
+		return builder.toString();
+	}
+
+	public enum FlagDensity {
+
+		/**
+		 * No flags
+		 */
+		NONE,
+
+		/**
+		 * All the flags combined in one argument, e.g: -abgd
+		 */
+		COMBINED,
+
+		/**
+		 * A flag before each argument, e.g: -a value -b 42
+		 */
+		SEPARATE
+
+	}
+
+}
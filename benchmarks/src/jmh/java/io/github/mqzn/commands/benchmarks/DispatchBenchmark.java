@@ -0,0 +1,56 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole execution of a command and the lookup of it's syntax,
+ * the input always matches the last syntax registered
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DispatchBenchmark {
+
+	@Param({"1", "8", "64"})
+	private int syntaxes;
+
+	@Param({"1", "4", "8"})
+	private int arguments;
+
+	@Param({"NONE", "COMBINED", "SEPARATE"})
+	private CommandFixture.FlagDensity flags;
+
+	private final FakeSender sender = new FakeSender("benchmark");
+
+	private BenchmarkManager manager;
+
+	private Command<FakeSender> command;
+
+	private String[] input;
+
+	private long executions;
+
+	@Setup
+	public void setup() {
+		manager = BenchmarkManager.get();
+		command = CommandFixture.register(manager, "dispatch", syntaxes, arguments, (sender, context) -> executions++);
+		input = CommandFixture.input(syntaxes - 1, arguments, flags);
+	}
+
+	@Benchmark
+	public long executeCommand() {
+		manager.executeCommand(command, sender, input);
+		return executions;
+	}
+
+	@Benchmark
+	public CommandSyntax<FakeSender> findSyntax() {
+		return manager.findSyntax(command, DelegateCommandContext.create(manager, command, sender, input));
+	}
+
+}
@@ -0,0 +1,12 @@
+package io.github.mqzn.commands.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A command sender that exists only in memory
+ *
+ * @param name the name of the sender
+ */
+public record FakeSender(@NotNull String name) {
+
+}
@@ -0,0 +1,48 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.sender.SenderWrapper;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A sender wrapper that drops every message,
+ * so the benchmarks measure the dispatching only
+ */
+public final class FakeSenderWrapper implements SenderWrapper<FakeSender> {
+
+	@Override
+	public Class<FakeSender> senderType() {
+		return FakeSender.class;
+	}
+
+	@Override
+	public boolean isConsole(FakeSender sender) {
+		return false;
+	}
+
+	@Override
+	public void sendMessage(FakeSender sender, String msg) {
+
+	}
+
+	@Override
+	public void sendMessage(FakeSender sender, TextComponent component) {
+
+	}
+
+	@Override
+	public boolean canBeSender(Class<?> type) {
+		return FakeSender.class.isAssignableFrom(type);
+	}
+
+	@Override
+	public boolean hasPermission(FakeSender sender, @Nullable String name) {
+		return true;
+	}
+
+	@Override
+	public String senderName(FakeSender sender) {
+		return sender.name();
+	}
+
+}
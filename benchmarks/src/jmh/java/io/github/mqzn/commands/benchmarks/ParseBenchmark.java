@@ -0,0 +1,58 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the arguments and the extraction of the flags
+ * of an input whose syntax is already found
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParseBenchmark {
+
+	@Param({"1", "4", "8"})
+	private int arguments;
+
+	@Param({"NONE", "COMBINED", "SEPARATE"})
+	private CommandFixture.FlagDensity flags;
+
+	private final FakeSender sender = new FakeSender("benchmark");
+
+	private BenchmarkManager manager;
+
+	private CommandSyntax<FakeSender> syntax;
+
+	private DelegateCommandContext<FakeSender> delegateContext;
+
+	@Setup
+	public void setup() {
+		manager = BenchmarkManager.get();
+		Command<FakeSender> command = CommandFixture.register(manager, "parse", 1, arguments, (sender, context) -> {
+		});
+
+		delegateContext = DelegateCommandContext.create(manager, command, sender, CommandFixture.input(0, arguments, flags));
+		syntax = manager.findSyntax(command, delegateContext);
+	}
+
+	@Benchmark
+	public CommandContext<FakeSender> parse() {
+		CommandContext<FakeSender> context = CommandContext.create(manager, syntax, delegateContext);
+		context.parse();
+		return context;
+	}
+
+	@Benchmark
+	public ContextFlagRegistry.FlagExtractionResult extractFlags() {
+		return CommandContext.create(manager, syntax, delegateContext)
+						.flags().extractFlags(sender, syntax);
+	}
+
+}
@@ -0,0 +1,57 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.base.Command;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the synchronous execution of a command with new contexts for each execution
+ * against recycled contexts, the allocation rate is reported by the gc profiler
+ * (gc.alloc.rate.norm is the number of bytes allocated per execution)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecyclingBenchmark {
+
+	@Param({"false", "true"})
+	private boolean recycle;
+
+	@Param({"1", "8"})
+	private int arguments;
+
+	@Param({"NONE", "SEPARATE"})
+	private CommandFixture.FlagDensity flags;
+
+	private final FakeSender sender = new FakeSender("benchmark");
+
+	private BenchmarkManager manager;
+
+	private Command<FakeSender> command;
+
+	private String[] input;
+
+	private long executions;
+
+	@Setup
+	public void setup() {
+		manager = BenchmarkManager.get();
+		manager.recycleContexts(recycle);
+
+		command = CommandFixture.register(manager, "recycling", 4, arguments, (sender, context) -> executions++);
+		input = CommandFixture.input(3, arguments, flags);
+	}
+
+	@TearDown
+	public void tearDown() {
+		manager.recycleContexts(false);
+	}
+
+	@Benchmark
+	public long executeCommand() {
+		manager.executeCommand(command, sender, input);
+		return executions;
+	}
+
+}
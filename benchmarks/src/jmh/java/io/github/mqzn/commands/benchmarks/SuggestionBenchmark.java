@@ -0,0 +1,54 @@
+package io.github.mqzn.commands.benchmarks;
+
+import io.github.mqzn.commands.base.Command;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tab-completion of the first argument (the literals of all syntaxes)
+ * and of the last argument of the last syntax
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SuggestionBenchmark {
+
+	@Param({"1", "8", "64"})
+	private int syntaxes;
+
+	@Param({"1", "4"})
+	private int arguments;
+
+	private final FakeSender sender = new FakeSender("benchmark");
+
+	private BenchmarkManager manager;
+
+	private Command<FakeSender> command;
+
+	private String[] firstArgument, lastArgument;
+
+	@Setup
+	public void setup() {
+		manager = BenchmarkManager.get();
+		command = CommandFixture.register(manager, "suggest", syntaxes, arguments, (sender, context) -> {
+		});
+
+		firstArgument = new String[]{"sub"};
+
+		lastArgument = CommandFixture.input(syntaxes - 1, arguments, CommandFixture.FlagDensity.NONE);
+		lastArgument[lastArgument.length - 1] = "";
+	}
+
+	@Benchmark
+	public List<String> suggestFirstArgument() {
+		return manager.suggest(command, sender, firstArgument);
+	}
+
+	@Benchmark
+	public List<String> suggestLastArgument() {
+		return manager.suggest(command, sender, lastArgument);
+	}
+
+}
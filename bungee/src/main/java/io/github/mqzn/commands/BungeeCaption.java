@@ -25,13 +25,15 @@ public interface BungeeCaption {
 					.build();
 
 	Caption<CommandSender> INVALID_ARGUMENT = Caption.<CommandSender>builder(CaptionKey.INVALID_ARGUMENT)
-					.withMessage((sender, context, ex) -> {
-						String msg = ex == null ? "Invalid argument used" : ex.getMessage();
-						return Message.prefixed(Message.INVALID_ARGUMENT_ERROR).append(Component.text(msg, NamedTextColor.DARK_GRAY));
-					})
+					.withMessage((sender, context, ex) -> Message.prefixed(Message.INVALID_ARGUMENT_ERROR)
+									.append(Component.text(Message.invalidArgument(context, ex), NamedTextColor.DARK_GRAY)))
 					.build();
 
 	Caption<CommandSender> NO_HELP_TOPIC_AVAILABLE = Caption.<CommandSender>builder(CaptionKey.NO_HELP_TOPIC_AVAILABLE)
 					.withMessage((sender, context, ex) -> Message.prefixed(Message.EXECUTION_ERROR).append(Component.text("There's no help topic for this command '/" + context.commandUsed().name() + "'", NamedTextColor.RED)))
 					.build();
+
+	Caption<CommandSender> EXECUTION_REJECTED = Caption.<CommandSender>builder(CaptionKey.EXECUTION_REJECTED)
+					.withMessage((sender, context, ex) -> Message.prefixed(Message.EXECUTION_ERROR).append(Component.text("The server is too busy to execute this command, try again later !", NamedTextColor.RED)))
+					.build();
 }
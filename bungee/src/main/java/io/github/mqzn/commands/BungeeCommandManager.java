@@ -7,25 +7,61 @@ import net.md_5.bungee.api.CommandSender;
 import net.md_5.bungee.api.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.Executor;
+
 public final class BungeeCommandManager extends AbstractCommandManager<Plugin, CommandSender> {
 
 
 	public BungeeCommandManager(@NotNull Plugin plugin,
 	                            @NotNull CommandExecutionCoordinator.@NotNull Type coordinator) {
 		super(plugin, new BungeeSenderWrapper(plugin), coordinator);
+		registerCaptions();
+	}
 
-		captionRegistry.registerCaption(BungeeCaption.UNKNOWN_COMMAND);
-		captionRegistry.registerCaption(BungeeCaption.INVALID_ARGUMENT);
-		captionRegistry.registerCaption(BungeeCaption.NO_PERMISSION);
-		captionRegistry.registerCaption(BungeeCaption.ONLY_PLAYER_EXECUTABLE);
-		captionRegistry.registerCaption(BungeeCaption.NO_HELP_TOPIC_AVAILABLE);
+	public BungeeCommandManager(@NotNull Plugin plugin, @NotNull Executor executor) {
+		super(plugin, new BungeeSenderWrapper(plugin), executor);
+		registerCaptions();
+	}
 
+	/**
+	 * Creates a manager that executes the commands on a bounded pool of platform threads,
+	 * {@link #shutdown()} must be called once the plugin is disabled
+	 *
+	 * @param plugin        the plugin
+	 * @param threads       the number of threads in the pool
+	 * @param queueCapacity the maximum number of commands waiting for a thread
+	 */
+	public BungeeCommandManager(@NotNull Plugin plugin, int threads, int queueCapacity) {
+		super(plugin, new BungeeSenderWrapper(plugin), threads, queueCapacity);
+		registerCaptions();
+	}
+
+	/**
+	 * Creates a manager that executes the commands on the executor supplied,
+	 * either asynchronously or in per-sender lanes
+	 *
+	 * @param plugin      the plugin
+	 * @param coordinator {@link CommandExecutionCoordinator.Type#ASYNC} or {@link CommandExecutionCoordinator.Type#PER_SENDER}
+	 * @param executor    the executor to run the commands on
+	 */
+	public BungeeCommandManager(@NotNull Plugin plugin, @NotNull CommandExecutionCoordinator.Type coordinator, @NotNull Executor executor) {
+		super(plugin, new BungeeSenderWrapper(plugin), coordinator, executor);
+		registerCaptions();
 	}
 
 	public BungeeCommandManager(@NotNull Plugin plugin) {
 		this(plugin, CommandExecutionCoordinator.Type.SYNC);
 	}
 
+	private void registerCaptions() {
+		captionRegistry.registerCaption(BungeeCaption.UNKNOWN_COMMAND);
+		captionRegistry.registerCaption(BungeeCaption.INVALID_ARGUMENT);
+		captionRegistry.registerCaption(BungeeCaption.NO_PERMISSION);
+		captionRegistry.registerCaption(BungeeCaption.ONLY_PLAYER_EXECUTABLE);
+		captionRegistry.registerCaption(BungeeCaption.NO_HELP_TOPIC_AVAILABLE);
+		captionRegistry.registerCaption(BungeeCaption.EXECUTION_REJECTED);
+	}
+
 	@Override
 	public char commandStarter() {
 		return '/';
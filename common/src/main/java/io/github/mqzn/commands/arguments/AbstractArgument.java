@@ -1,5 +1,8 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.suggestion.SortedSuggestions;
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
+import io.github.mqzn.commands.base.suggestion.SuggestionProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -19,6 +22,13 @@ public abstract class AbstractArgument<T> implements Argument<T> {
 	@Nullable
 	private T defaultValue = null;
 
+	// the suggestions stringified and sorted, computed on the first tab-completion
+	@Nullable
+	private volatile SortedSuggestions sortedSuggestions = null;
+
+	@Nullable
+	private SuggestionProvider<?> suggestionProvider = null;
+
 	public AbstractArgument(@NotNull String id, @NotNull Class<T> type) {
 		this(id, type, false, false);
 	}
@@ -101,6 +111,7 @@ public abstract class AbstractArgument<T> implements Argument<T> {
 	@Override
 	public Argument<T> suggest(@NotNull T suggestion) {
 		suggestions.add(suggestion);
+		invalidateSuggestions();
 		return this;
 	}
 
@@ -109,6 +120,49 @@ public abstract class AbstractArgument<T> implements Argument<T> {
 		return suggestions;
 	}
 
+	@Override
+	public void collectSuggestions(@NotNull String prefix, @NotNull SuggestionCollector collector) {
+		sortedSuggestions().collect(prefix, collector);
+	}
+
+	@Override
+	public @Nullable SuggestionProvider<?> suggestionProvider() {
+		return suggestionProvider;
+	}
+
+	/**
+	 * Sets the provider of the asynchronous suggestions of this argument
+	 *
+	 * @param provider the suggestion provider
+	 * @param <S>      the sender type
+	 * @return this argument
+	 */
+	public <S> Argument<T> suggestionProvider(@Nullable SuggestionProvider<S> provider) {
+		this.suggestionProvider = provider;
+		return this;
+	}
+
+	/**
+	 * The suggestions of this argument, stringified and sorted once
+	 *
+	 * @return the sorted suggestions
+	 */
+	public @NotNull SortedSuggestions sortedSuggestions() {
+		SortedSuggestions sorted = sortedSuggestions;
+		if (sorted == null)
+			sortedSuggestions = sorted = SortedSuggestions.of(suggestions());
+
+		return sorted;
+	}
+
+	/**
+	 * Drops the sorted suggestions, must be called
+	 * whenever the result of {@link #suggestions()} changes
+	 */
+	protected void invalidateSuggestions() {
+		sortedSuggestions = null;
+	}
+
 	@Override
 	public String toString() {
 		return "AbstractArgument{" +
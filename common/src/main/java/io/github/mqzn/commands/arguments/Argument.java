@@ -1,6 +1,9 @@
 package io.github.mqzn.commands.arguments;
 
 import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.suggestion.SortedSuggestions;
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
+import io.github.mqzn.commands.base.suggestion.SuggestionProvider;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -121,6 +124,58 @@ public interface Argument<T> {
 
 	T parse(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException;
 
+	/**
+	 * Parses the input without throwing, the value parsed is handed to the target,
+	 * the arguments that can fail override it to return their preallocated failures,
+	 * by default the exception thrown by {@link #parse(Command, String)} is wrapped
+	 *
+	 * @param command the command used
+	 * @param input   the input
+	 * @param target  the target of the value parsed
+	 * @return {@link ParseResult#SUCCESS} or the failure
+	 */
+	default @NotNull ParseResult tryParse(@NotNull Command<?> command, @NotNull String input, @NotNull ParseTarget target) {
+		try {
+			target.value(parse(command, input));
+			return ParseResult.SUCCESS;
+		} catch (ArgumentParseException ex) {
+			return ParseResult.of(ex);
+		}
+	}
+
+	/**
+	 * Boxes a value this argument handed to {@link ParseTarget#longValue(long)},
+	 * once it's fetched as an object
+	 *
+	 * @param value the value handed
+	 * @return the value boxed, a {@link Long} by default
+	 */
+	default @NotNull Object boxLong(long value) {
+		return value;
+	}
+
+	/**
+	 * Boxes a value this argument handed to {@link ParseTarget#doubleValue(double)},
+	 * once it's fetched as an object
+	 *
+	 * @param value the value handed
+	 * @return the value boxed, a {@link Double} by default
+	 */
+	default @NotNull Object boxDouble(double value) {
+		return value;
+	}
+
+	/**
+	 * Whether any argument of the same class and type accepts exactly the same inputs as this one,
+	 * i.e: it has no constraints of it's own, then the syntaxes matching an input
+	 * share the parse of each token among all these arguments
+	 *
+	 * @return whether the inputs accepted only depend on the class and the type
+	 */
+	default boolean parsesByType() {
+		return false;
+	}
+
 	default boolean isOptional() {
 		return false;
 	}
@@ -131,6 +186,27 @@ public interface Argument<T> {
 
 	@NotNull <S> List<T> suggestions();
 
+	/**
+	 * Collects the suggestions of this argument that start
+	 * with the prefix typed (case-insensitive)
+	 *
+	 * @param prefix    the prefix typed, may be empty
+	 * @param collector the collector of the suggestions
+	 */
+	default void collectSuggestions(@NotNull String prefix, @NotNull SuggestionCollector collector) {
+		SortedSuggestions.of(suggestions()).collect(prefix, collector);
+	}
+
+	/**
+	 * The provider of the asynchronous suggestions of this argument,
+	 * merged with it's static suggestions
+	 *
+	 * @return the suggestion provider, or null if there's none
+	 */
+	default @Nullable SuggestionProvider<?> suggestionProvider() {
+		return null;
+	}
+
 	default Class<?>[] alternativeTypes() {
 		return new Class[0];
 	}
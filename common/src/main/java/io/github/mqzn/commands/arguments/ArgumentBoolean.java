@@ -8,6 +8,13 @@ import java.util.Arrays;
 import java.util.List;
 
 public final class ArgumentBoolean extends AbstractArgument<Boolean> {
+
+	public final static int NOT_BOOLEAN_ERROR = 3;
+
+	@NotNull
+	private final ParseResult notBoolean = ParseResult.failure(NOT_BOOLEAN_ERROR,
+					(input) -> "Argument '" + id() + "' should be boolean, the input '" + input + "' is not a valid boolean");
+
 	ArgumentBoolean(String id) {
 		super(id, Boolean.class);
 	}
@@ -18,12 +25,36 @@ public final class ArgumentBoolean extends AbstractArgument<Boolean> {
 
 	@Override
 	public Boolean parse(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException {
+		return parseBoolean(command, input);
+	}
+
+	/**
+	 * Parses the input without boxing it
+	 *
+	 * @param command the command used
+	 * @param input   the input
+	 * @return the value parsed
+	 * @throws ArgumentParseException if the input isn't a valid boolean
+	 */
+	public boolean parseBoolean(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException {
+		if (input.equalsIgnoreCase("true") || input.equalsIgnoreCase("yes")) return true;
+		if (input.equalsIgnoreCase("false") || input.equalsIgnoreCase("no")) return false;
 
-		if (!input.equalsIgnoreCase("true") && !input.equalsIgnoreCase("false") && !input.equalsIgnoreCase("no") && !input.equalsIgnoreCase("yes"))
-			throw new ArgumentParseException("Argument '" + id() + "' should be boolean, the input '" + input + "' is not a valid boolean", input, 3, command);
+		throw notBoolean.toException(command, input);
+	}
 
-		return input.equalsIgnoreCase("true")
-						|| input.equalsIgnoreCase("yes");
+	@Override
+	public @NotNull ParseResult tryParse(@NotNull Command<?> command, @NotNull String input, @NotNull ParseTarget target) {
+		if (input.equalsIgnoreCase("true") || input.equalsIgnoreCase("yes")) target.booleanValue(true);
+		else if (input.equalsIgnoreCase("false") || input.equalsIgnoreCase("no")) target.booleanValue(false);
+		else return notBoolean;
+
+		return ParseResult.SUCCESS;
+	}
+
+	@Override
+	public boolean parsesByType() {
+		return true;
 	}
 
 	@Override
@@ -1,8 +1,8 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -10,31 +10,42 @@ public final class ArgumentDouble extends ArgumentNumber<Double> {
 
 
 	ArgumentDouble(@NotNull String id) {
-		super(id, Double.class, Double::parseDouble,
-						((s, radix) -> (double) Long.parseLong(s, radix)), Double::compare);
+		super(id, Double.class, false);
 	}
 
 	ArgumentDouble(@NotNull ArgumentData data) {
-		super(data, Double.class, Double::parseDouble,
-						((s, radix) -> (double) Long.parseLong(s, radix)), Double::compare);
+		super(data, Double.class, false);
 	}
 
+	/**
+	 * The static suggestions of the argument, the values of a range
+	 * are suggested lazily by {@link #collectSuggestions(String, SuggestionCollector)}
+	 *
+	 * @return the bounds of the range, if both are set
+	 */
 	@Override
 	public @NotNull List<Double> suggestions() {
 
-		if (hasMax && hasMin) {
-			List<Double> suggestions = new ArrayList<>();
+		if (hasMax && hasMin)
+			return List.of(min, max);
 
-			for (double i = 0; i <= max; i++) {
-				suggestions.add(i);
-			}
+		return Collections.singletonList(0D);
+	}
 
-			return suggestions;
-		}
+	@Override
+	protected long lowestSuggestion() {
+		return (long) Math.ceil(min.doubleValue());
+	}
 
-		return Collections.singletonList(0D);
+	@Override
+	protected long highestSuggestion() {
+		return (long) Math.floor(max.doubleValue());
 	}
 
+	@Override
+	public @NotNull Double box(long longValue, double doubleValue) {
+		return doubleValue;
+	}
 
 	@Override
 	public Class<?>[] alternativeTypes() {
@@ -1,12 +1,17 @@
 package io.github.mqzn.commands.arguments;
 
 import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.suggestion.SortedSuggestions;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.UnaryOperator;
 
 public final class ArgumentEnum<E extends Enum<E>> extends AbstractArgument<E> {
@@ -17,36 +22,110 @@ public final class ArgumentEnum<E extends Enum<E>> extends AbstractArgument<E> {
 	private final E[] values;
 	private Format format = Format.DEFAULT;
 
+	private boolean ignoreCase, matchPrefix;
+
+	@NotNull
+	private final ParseResult notEnumValue;
+
+	// the formatted names indexed once, rebuilt whenever the way of matching them changes
+	@NotNull
+	private volatile Index<E> index;
+
 	public ArgumentEnum(@NotNull String id, Class<E> enumClass) {
 		super(id, enumClass);
 		this.enumClass = enumClass;
 		this.values = enumClass.getEnumConstants();
+		this.index = new Index<>(values, format, ignoreCase);
+		this.notEnumValue = ParseResult.failure(NOT_ENUM_VALUE_ERROR, (input) -> "Not a " + enumClass.getSimpleName() + " value");
 	}
 
 	public ArgumentEnum(@NotNull ArgumentData data, Class<E> enumClass) {
 		super(data, enumClass);
 		this.enumClass = enumClass;
 		this.values = enumClass.getEnumConstants();
+		this.index = new Index<>(values, format, ignoreCase);
+		this.notEnumValue = ParseResult.failure(NOT_ENUM_VALUE_ERROR, (input) -> "Not a " + enumClass.getSimpleName() + " value");
 	}
 
 	public ArgumentEnum<E> setFormat(@NotNull Format format) {
 		this.format = format;
+		this.index = new Index<>(values, format, ignoreCase);
+		return this;
+	}
+
+	/**
+	 * Matches the input with the formatted names ignoring their case
+	 *
+	 * @param ignoreCase whether the case is ignored
+	 * @return this argument
+	 */
+	public ArgumentEnum<E> ignoreCase(boolean ignoreCase) {
+		this.ignoreCase = ignoreCase;
+		this.index = new Index<>(values, format, ignoreCase);
+		return this;
+	}
+
+	/**
+	 * Accepts the start of a formatted name, as long as
+	 * it's the start of only one of them (e.g: "DIAM" for "DIAMOND"),
+	 * the prefixes are always matched ignoring their case
+	 *
+	 * @param matchPrefix whether a unique prefix is accepted
+	 * @return this argument
+	 */
+	public ArgumentEnum<E> matchPrefix(boolean matchPrefix) {
+		this.matchPrefix = matchPrefix;
 		return this;
 	}
 
 	@NotNull
 	@Override
 	public E parse(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException {
-		for (E value : this.values) {
-			if (this.format.formatter.apply(value.name()).equals(input)) {
-				return value;
-			}
-		}
-		throw new ArgumentParseException("Not a " + this.enumClass.getSimpleName() + " value", input, NOT_ENUM_VALUE_ERROR, command);
+		E value = find(input);
+		if (value == null)
+			throw notEnumValue.toException(command, input);
+
+		return value;
+	}
+
+	@Override
+	public @NotNull ParseResult tryParse(@NotNull Command<?> command, @NotNull String input, @NotNull ParseTarget target) {
+		E value = find(input);
+		if (value == null) return notEnumValue;
+
+		target.value(value);
+		return ParseResult.SUCCESS;
+	}
+
+	@Nullable
+	private E find(@NotNull String input) {
+		final Index<E> index = this.index;
+
+		E value = index.find(input);
+		if (value == null && matchPrefix)
+			value = index.findByPrefix(input);
+
+		return value;
+	}
+
+	@Override
+	public boolean parsesByType() {
+		return format == Format.DEFAULT && !ignoreCase && !matchPrefix;
 	}
 
 	public List<String> entries() {
-		return Arrays.stream(values).map(x -> format.formatter.apply(x.name())).toList();
+		return index.entries;
+	}
+
+	/**
+	 * The formatted names of the values when no suggestions were added,
+	 * sorted once for the prefix search
+	 *
+	 * @return the sorted suggestions
+	 */
+	@Override
+	public @NotNull SortedSuggestions sortedSuggestions() {
+		return suggestions.isEmpty() ? index.suggestions : super.sortedSuggestions();
 	}
 
 	public enum Format {
@@ -61,4 +140,87 @@ public final class ArgumentEnum<E extends Enum<E>> extends AbstractArgument<E> {
 		}
 	}
 
-}
\ No newline at end of file
+	private final static class Index<E extends Enum<E>> {
+
+		@NotNull
+		private final Map<String, E> byName;
+
+		// keyed by the lower-cased names, null unless the case is ignored
+		@Nullable
+		private final Map<String, E> byLowerCasedName;
+
+		// the names sorted case-insensitively, with their values at the same indices
+		@NotNull
+		private final String[] sortedNames;
+
+		@NotNull
+		private final E[] sortedValues;
+
+		@NotNull
+		private final List<String> entries;
+
+		@NotNull
+		private final SortedSuggestions suggestions;
+
+		private Index(@NotNull E[] values, @NotNull Format format, boolean ignoreCase) {
+			String[] names = new String[values.length];
+			this.byName = new HashMap<>(values.length * 4 / 3 + 1);
+			this.byLowerCasedName = ignoreCase ? new HashMap<>(values.length * 4 / 3 + 1) : null;
+
+			for (int i = 0; i < values.length; i++) {
+				names[i] = format.formatter.apply(values[i].name());
+				byName.putIfAbsent(names[i], values[i]);
+
+				if (byLowerCasedName != null)
+					byLowerCasedName.putIfAbsent(names[i].toLowerCase(Locale.ROOT), values[i]);
+			}
+
+			this.entries = List.of(names);
+			this.suggestions = SortedSuggestions.of(entries);
+
+			Integer[] order = new Integer[values.length];
+			for (int i = 0; i < order.length; i++) order[i] = i;
+			Arrays.sort(order, Comparator.comparing((i) -> names[i], String.CASE_INSENSITIVE_ORDER));
+
+			this.sortedNames = new String[values.length];
+			this.sortedValues = Arrays.copyOf(values, values.length);
+			for (int i = 0; i < order.length; i++) {
+				sortedNames[i] = names[order[i]];
+				sortedValues[i] = values[order[i]];
+			}
+		}
+
+		@Nullable
+		private E find(@NotNull String input) {
+			E value = byName.get(input);
+			if (value != null || byLowerCasedName == null) return value;
+
+			// toLowerCase returns the input itself when it's lower-cased already
+			return byLowerCasedName.get(input.toLowerCase(Locale.ROOT));
+		}
+
+		// the only value whose name starts with the input, null if there's none or many
+		@Nullable
+		private E findByPrefix(@NotNull String input) {
+			if (input.isEmpty()) return null;
+
+			int low = 0, high = sortedNames.length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (String.CASE_INSENSITIVE_ORDER.compare(sortedNames[middle], input) < 0) low = middle + 1;
+				else high = middle;
+			}
+
+			if (low == sortedNames.length || !startsWith(sortedNames[low], input)) return null;
+
+			boolean unique = low + 1 == sortedNames.length || !startsWith(sortedNames[low + 1], input);
+			return unique ? sortedValues[low] : null;
+		}
+
+		private static boolean startsWith(@NotNull String name, @NotNull String prefix) {
+			return name.regionMatches(true, 0, prefix, 0, prefix.length());
+		}
+
+	}
+
+}
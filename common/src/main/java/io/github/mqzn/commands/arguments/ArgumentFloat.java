@@ -1,37 +1,60 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public final class ArgumentFloat extends ArgumentNumber<Float> {
 
 	ArgumentFloat(@NotNull String id) {
-		super(id, Float.class, Float::parseFloat,
-						((s, radix) -> (float) Long.parseLong(s, radix)), Float::compare);
+		super(id, Float.class, false);
 	}
 
 	ArgumentFloat(@NotNull ArgumentData data) {
-		super(data, Float.class, Float::parseFloat,
-						((s, radix) -> (float) Long.parseLong(s, radix)), Float::compare);
+		super(data, Float.class, false);
 	}
 
+	/**
+	 * The static suggestions of the argument, the values of a range
+	 * are suggested lazily by {@link #collectSuggestions(String, SuggestionCollector)}
+	 *
+	 * @return the bounds of the range, if both are set
+	 */
 	@Override
 	public @NotNull List<Float> suggestions() {
 
-		if (hasMax && hasMin) {
-			List<Float> suggestions = new ArrayList<>();
+		if (hasMax && hasMin)
+			return List.of(min, max);
 
-			for (float i = 0; i <= max; i++) {
-				suggestions.add(i);
-			}
+		return Collections.singletonList(0f);
+	}
+
+	@Override
+	protected long lowestSuggestion() {
+		return (long) Math.ceil(min.doubleValue());
+	}
 
-			return suggestions;
-		}
+	@Override
+	protected long highestSuggestion() {
+		return (long) Math.floor(max.doubleValue());
+	}
 
-		return Collections.singletonList(0f);
+	@Override
+	public @NotNull Float box(long longValue, double doubleValue) {
+		return (float) doubleValue;
+	}
+
+	@Override
+	protected double narrow(double value) {
+		return (float) value;
+	}
+
+	// the largest double that isn't rounded to an infinite float
+	@Override
+	protected double largestValue() {
+		return Math.nextDown(0x1.ffffffp127);
 	}
 
 	@Override
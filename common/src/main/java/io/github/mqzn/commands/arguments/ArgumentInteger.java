@@ -1,41 +1,49 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public final class ArgumentInteger extends ArgumentNumber<Integer> {
 
 	ArgumentInteger(String id) {
-		super(id, Integer.class,
-						Integer::parseInt,
-						Integer::parseInt,
-						Integer::compare);
+		super(id, Integer.class, true);
 	}
 
 	ArgumentInteger(ArgumentData data) {
-		super(data, Integer.class,
-						Integer::parseInt,
-						Integer::parseInt,
-						Integer::compare);
+		super(data, Integer.class, true);
 	}
 
+	/**
+	 * The static suggestions of the argument, the values of a range
+	 * are suggested lazily by {@link #collectSuggestions(String, SuggestionCollector)}
+	 *
+	 * @return the bounds of the range, if both are set
+	 */
 	@Override
 	public @NotNull List<Integer> suggestions() {
 
-		if (hasMax && hasMin) {
-			List<Integer> suggestions = new ArrayList<>();
+		if (hasMax && hasMin)
+			return List.of(min, max);
 
-			for (int i = 0; i <= max; i++) {
-				suggestions.add(i);
-			}
+		return Collections.singletonList(0);
+	}
 
-			return suggestions;
-		}
+	@Override
+	public @NotNull Integer box(long longValue, double doubleValue) {
+		return (int) longValue;
+	}
 
-		return Collections.singletonList(0);
+	@Override
+	protected long lowestValue() {
+		return Integer.MIN_VALUE;
+	}
+
+	@Override
+	protected long highestValue() {
+		return Integer.MAX_VALUE;
 	}
 
 	@Override
@@ -1,37 +1,41 @@
 package io.github.mqzn.commands.arguments;
 
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public final class ArgumentLong extends ArgumentNumber<Long> {
 
 	ArgumentLong(@NotNull String id) {
-		super(id, Long.class, Long::parseLong, Long::parseLong, Long::compare);
+		super(id, Long.class, true);
 	}
 
 	ArgumentLong(@NotNull ArgumentData data) {
-		super(data, Long.class, Long::parseLong, Long::parseLong, Long::compare);
+		super(data, Long.class, true);
 	}
 
+	/**
+	 * The static suggestions of the argument, the values of a range
+	 * are suggested lazily by {@link #collectSuggestions(String, SuggestionCollector)}
+	 *
+	 * @return the bounds of the range, if both are set
+	 */
 	@Override
 	public @NotNull List<Long> suggestions() {
 
-		if (hasMax && hasMin) {
-			List<Long> suggestions = new ArrayList<>();
-
-			for (long i = 0; i <= max; i++) {
-				suggestions.add(i);
-			}
-
-			return suggestions;
-		}
+		if (hasMax && hasMin)
+			return List.of(min, max);
 
 		return Collections.singletonList(0L);
 	}
 
+	@Override
+	public @NotNull Long box(long longValue, double doubleValue) {
+		return longValue;
+	}
+
 	@Override
 	public Class<?>[] alternativeTypes() {
 		return new Class[]{long.class};
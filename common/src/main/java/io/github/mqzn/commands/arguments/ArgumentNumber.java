@@ -1,16 +1,12 @@
 package io.github.mqzn.commands.arguments;
 
 import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.math.BigDecimal;
-import java.util.Comparator;
-import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<T> {
 
@@ -18,86 +14,343 @@ public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<
 	public static final int TOO_LOW_ERROR = 2;
 	public static final int TOO_HIGH_ERROR = 3;
 
-	protected final BiFunction<String, Integer, T> radixParser;
+	// the failures by their error code
+	private final static ParseResult[] FAILURES = {
+					null,
+					ParseResult.failure(NOT_NUMBER_ERROR, (input) -> errorMessage(input, NOT_NUMBER_ERROR)),
+					ParseResult.failure(TOO_LOW_ERROR, (input) -> errorMessage(input, TOO_LOW_ERROR)),
+					ParseResult.failure(TOO_HIGH_ERROR, (input) -> errorMessage(input, TOO_HIGH_ERROR))
+	};
 
+	/**
+	 * Parses a number the same way the input of this argument is parsed,
+	 * throwing a {@link NumberFormatException} if it's invalid or out of the range of the type
+	 */
 	@Getter
 	protected final Function<String, T> parser;
 
-	protected final Comparator<T> comparator;
+	// whether the values are whole numbers scanned as longs, otherwise they're scanned as doubles
+	private final boolean integral;
 
 	protected boolean hasMin, hasMax;
 
 	protected T min, max;
 
-	ArgumentNumber(@NotNull String id, Class<T> type,
-	               Function<String, T> parser,
-	               BiFunction<String, Integer, T> radixParser,
-	               Comparator<T> comparator) {
-		super(id, type);
-		this.radixParser = radixParser;
-		this.parser = parser;
-		this.comparator = comparator;
+	// the bounds as primitives, so checking the range neither boxes nor unboxes
+	private long minLong, maxLong;
 
+	private double minDouble, maxDouble;
+
+	ArgumentNumber(@NotNull String id, Class<T> type, boolean integral) {
+		super(id, type);
+		this.integral = integral;
+		this.parser = this::parseNumber;
 	}
 
-	ArgumentNumber(@NotNull ArgumentData data, Class<T> type,
-	               Function<String, T> parser,
-	               BiFunction<String, Integer, T> radixParser,
-	               Comparator<T> comparator) {
+	ArgumentNumber(@NotNull ArgumentData data, Class<T> type, boolean integral) {
 		super(data, type);
-		this.radixParser = radixParser;
-		this.parser = parser;
-		this.comparator = comparator;
+		this.integral = integral;
+		this.parser = this::parseNumber;
 	}
 
 	@Override
 	public @NotNull T parse(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException {
-		try {
-			final T value;
-			final int radix = getRadix(input);
-			if (radix == 10) {
-				value = parser.apply(parseValue(input));
-			} else {
-				value = radixParser.apply(parseValue(input), radix);
-			}
+		final NumberScanner scanner = NumberScanner.local();
 
-			// Check range
-			if (hasMin && comparator.compare(value, min) < 0) {
-				throw new ArgumentParseException(String.format("Input '%s' is lower than the minimum allowed value", input), input, TOO_LOW_ERROR, command);
-			}
-			if (hasMax && comparator.compare(value, max) > 0) {
-				throw new ArgumentParseException(String.format("Input '%s' is higher than the maximum allowed value", input), input, TOO_HIGH_ERROR, command);
-			}
+		final int error = scan(input, scanner);
+		if (error != NumberScanner.OK)
+			throw FAILURES[error].toException(command, input);
+
+		return box(scanner);
+	}
+
+	@Override
+	public @NotNull ParseResult tryParse(@NotNull Command<?> command, @NotNull String input, @NotNull ParseTarget target) {
+		final NumberScanner scanner = NumberScanner.local();
+
+		final int error = scan(input, scanner);
+		if (error != NumberScanner.OK) return FAILURES[error];
+
+		if (integral) target.longValue(scanner.longValue());
+		else target.doubleValue(narrow(scanner.doubleValue()));
 
-			return value;
-		} catch (NumberFormatException | NullPointerException e) {
-			throw new ArgumentParseException(String.format("Input '%s' is not a number, or it's invalid for the given type", input), input, NOT_NUMBER_ERROR, command);
+		return ParseResult.SUCCESS;
+	}
+
+	/**
+	 * Scans the input then checks it's within the range of the type and the range of this argument
+	 *
+	 * @param input   the input
+	 * @param scanner the scanner holding the value once it's scanned
+	 * @return {@link NumberScanner#OK} or the error code
+	 */
+	protected final int scan(@NotNull CharSequence input, @NotNull NumberScanner scanner) {
+		return scan(input, scanner, hasMin, hasMax);
+	}
+
+	private int scan(@NotNull CharSequence input, @NotNull NumberScanner scanner, boolean hasMin, boolean hasMax) {
+		final int error = scanner.scan(input, integral);
+		if (error != NumberScanner.OK) return error;
+
+		if (integral) {
+			final long value = scanner.longValue();
+			if (value < lowestValue() || (hasMin && value < minLong)) return TOO_LOW_ERROR;
+			if (value > highestValue() || (hasMax && value > maxLong)) return TOO_HIGH_ERROR;
+		} else {
+			final double value = scanner.doubleValue();
+			if (value < -largestValue()) return TOO_LOW_ERROR;
+			if (value > largestValue()) return TOO_HIGH_ERROR;
+
+			// compared at the precision of the type, as the bounds are
+			final double narrowed = narrow(value);
+			if (hasMin && narrowed < minDouble) return TOO_LOW_ERROR;
+			if (hasMax && narrowed > maxDouble) return TOO_HIGH_ERROR;
 		}
+
+		return NumberScanner.OK;
+	}
+
+	/**
+	 * Parses the input of an integral argument without boxing it
+	 *
+	 * @param command the command used
+	 * @param input   the input
+	 * @return the value parsed, truncated if the type isn't integral
+	 * @throws ArgumentParseException if the input isn't a valid number within the range
+	 */
+	public final long parseLong(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException {
+		final NumberScanner scanner = NumberScanner.local();
+
+		final int error = scan(input, scanner);
+		if (error != NumberScanner.OK)
+			throw FAILURES[error].toException(command, input);
+
+		return scanner.longValue();
+	}
+
+	/**
+	 * Parses the input without boxing it
+	 *
+	 * @param command the command used
+	 * @param input   the input
+	 * @return the value parsed
+	 * @throws ArgumentParseException if the input isn't a valid number within the range
+	 */
+	public final double parseDouble(@NotNull Command<?> command, @NotNull String input) throws ArgumentParseException {
+		final NumberScanner scanner = NumberScanner.local();
+
+		final int error = scan(input, scanner);
+		if (error != NumberScanner.OK)
+			throw FAILURES[error].toException(command, input);
+
+		return narrow(scanner.doubleValue());
+	}
+
+	/**
+	 * @return whether the values are whole numbers, parsed by {@link #parseLong(Command, String)} without losing precision
+	 */
+	public final boolean isIntegral() {
+		return integral;
+	}
+
+	@Override
+	public boolean parsesByType() {
+		return !hasMin && !hasMax;
+	}
+
+	/**
+	 * Boxes a value parsed into the type of this argument
+	 *
+	 * @param longValue   the value as a long
+	 * @param doubleValue the value as a double
+	 * @return the value boxed
+	 */
+	public abstract @NotNull T box(long longValue, double doubleValue);
+
+	@Override
+	public @NotNull T boxLong(long value) {
+		return box(value, value);
+	}
+
+	@Override
+	public @NotNull T boxDouble(double value) {
+		return box((long) value, value);
+	}
+
+	@NotNull
+	private T box(@NotNull NumberScanner scanner) {
+		return box(scanner.longValue(), scanner.doubleValue());
+	}
+
+	/**
+	 * Rounds a value scanned to the precision of a floating-point type
+	 *
+	 * @param value the value scanned
+	 * @return the value as it's stored by the type
+	 */
+	protected double narrow(double value) {
+		return value;
+	}
+
+	/**
+	 * The lowest value of an integral type
+	 *
+	 * @return the lowest value
+	 */
+	protected long lowestValue() {
+		return Long.MIN_VALUE;
 	}
 
+	/**
+	 * The highest value of an integral type
+	 *
+	 * @return the highest value
+	 */
+	protected long highestValue() {
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * The largest finite magnitude of a floating-point type
+	 *
+	 * @return the largest value
+	 */
+	protected double largestValue() {
+		return Double.MAX_VALUE;
+	}
+
+	@NotNull
+	protected static String errorMessage(@NotNull String input, int error) {
+		return switch (error) {
+			case TOO_LOW_ERROR -> String.format("Input '%s' is lower than the minimum allowed value", input);
+			case TOO_HIGH_ERROR -> String.format("Input '%s' is higher than the maximum allowed value", input);
+			default -> String.format("Input '%s' is not a number, or it's invalid for the given type", input);
+		};
+	}
+
+	// the range of this argument is ignored, since it's bounds are parsed with this
+	@NotNull
+	private T parseNumber(@NotNull String input) {
+		final NumberScanner scanner = NumberScanner.local();
+
+		final int error = scan(input, scanner, false, false);
+		if (error != NumberScanner.OK)
+			throw new NumberFormatException(errorMessage(input, error));
+
+		return box(scanner);
+	}
 
 	@NotNull
 	public ArgumentNumber<T> min(@NotNull T value) {
 		this.min = value;
+		this.minLong = value.longValue();
+		this.minDouble = value.doubleValue();
 		this.hasMin = true;
+		invalidateSuggestions();
 		return this;
 	}
 
 	@NotNull
 	public ArgumentNumber<T> max(@NotNull T value) {
 		this.max = value;
+		this.maxLong = value.longValue();
+		this.maxDouble = value.doubleValue();
 		this.hasMax = true;
+		invalidateSuggestions();
 
 		return this;
 	}
 
 	@NotNull
 	public ArgumentNumber<T> between(@NotNull T min, @NotNull T max) {
-		this.min = min;
-		this.max = max;
-		this.hasMin = true;
-		this.hasMax = true;
-		return this;
+		min(min);
+		return max(max);
+	}
+
+	/**
+	 * Collects the numbers within [min, max] that start with the digits typed,
+	 * shortest first (e.g: typing "1" suggests 1, 10 to 19, 100 to 199 ...),
+	 * the range is never materialized, so only the numbers suggested are generated.
+	 * Without both a min and a max, the static suggestions are used.
+	 *
+	 * @param prefix    the prefix typed, may be empty
+	 * @param collector the collector of the suggestions
+	 */
+	@Override
+	public void collectSuggestions(@NotNull String prefix, @NotNull SuggestionCollector collector) {
+		if (!hasMin || !hasMax) {
+			super.collectSuggestions(prefix, collector);
+			return;
+		}
+
+		collectRange(prefix, lowestSuggestion(), highestSuggestion(), collector);
+	}
+
+	/**
+	 * The lowest whole number that can be suggested
+	 *
+	 * @return the lowest suggestion
+	 */
+	protected long lowestSuggestion() {
+		return min.longValue();
+	}
+
+	/**
+	 * The highest whole number that can be suggested
+	 *
+	 * @return the highest suggestion
+	 */
+	protected long highestSuggestion() {
+		return max.longValue();
+	}
+
+	private static void collectRange(@NotNull String prefix, long low, long high, @NotNull SuggestionCollector collector) {
+		if (low > high) return;
+
+		final boolean negative = !prefix.isEmpty() && prefix.charAt(0) == '-';
+
+		// the magnitude typed, -1 when no digit is typed yet
+		long typed = -1;
+		for (int i = negative ? 1 : 0; i < prefix.length(); i++) {
+			char c = prefix.charAt(i);
+			if (c < '0' || c > '9' || typed == 0) return; // not a digit, or a leading zero
+
+			int digit = c - '0';
+			if (typed > (Long.MAX_VALUE - digit) / 10) return;
+			typed = Math.max(typed, 0) * 10 + digit;
+		}
+
+		if (!negative && high >= 0)
+			collectMagnitudes(typed, "", Math.max(low, 0), high, collector);
+
+		if ((negative || prefix.isEmpty()) && low < 0)
+			collectMagnitudes(typed, "-", high >= 0 ? 1 : negate(high), negate(low), collector);
+	}
+
+	private static void collectMagnitudes(long typed, @NotNull String sign, long low, long high, @NotNull SuggestionCollector collector) {
+		final boolean allowsZero = sign.isEmpty() && low == 0;
+		if (typed <= 0 && allowsZero) collector.add("0");
+		if (typed == 0) return;
+
+		// each level has one more digit than the previous one
+		long from = typed < 0 ? 1 : typed, to = typed < 0 ? 9 : typed;
+		while (!collector.isFull()) {
+
+			for (long value = Math.max(from, low), last = Math.min(to, high); value <= last; value++) {
+				if (!collector.add(sign + value) && collector.isFull()) return;
+				if (value == Long.MAX_VALUE) return;
+			}
+
+			if (from > high / 10) return;
+
+			from *= 10;
+			to = to > (Long.MAX_VALUE - 9) / 10 ? Long.MAX_VALUE : to * 10 + 9;
+		}
+
+	}
+
+	private static long negate(long value) {
+		return value == Long.MIN_VALUE ? Long.MAX_VALUE : -value;
 	}
 
 	/**
@@ -152,36 +405,4 @@ public abstract class ArgumentNumber<T extends Number> extends AbstractArgument<
 		return max;
 	}
 
-	@NotNull
-	protected String parseValue(@NotNull String value) {
-		if (value.startsWith("0b")) {
-			value = value.replaceFirst(Pattern.quote("0b"), "");
-		} else if (value.startsWith("0x")) {
-			value = value.replaceFirst(Pattern.quote("0x"), "");
-		} else if (value.toLowerCase().contains("e")) {
-			value = removeScientificNotation(value);
-		}
-		// TODO number suffix support (k,m,b,t)
-		return value;
-	}
-
-	protected int getRadix(@NotNull String value) {
-		if (value.startsWith("0b")) {
-			return 2;
-		} else if (value.startsWith("0x")) {
-			return 16;
-		}
-		return 10;
-	}
-
-	@Nullable
-	protected String removeScientificNotation(@NotNull String value) {
-		try {
-			return new BigDecimal(value).toPlainString();
-		} catch (NumberFormatException e) {
-			return null;
-		}
-	}
-
-
-}
\ No newline at end of file
+}
@@ -21,6 +21,11 @@ public final class ArgumentWord extends AbstractArgument<String> {
 		return input;
 	}
 
+	@Override
+	public boolean parsesByType() {
+		return true;
+	}
+
 	@Override
 	public @NotNull List<String> suggestions() {
 		return Collections.emptyList();
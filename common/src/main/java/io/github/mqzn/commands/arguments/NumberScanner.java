@@ -0,0 +1,252 @@
+package io.github.mqzn.commands.arguments;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Scans a number in a single pass over it's characters, without regex, intermediate strings
+ * or exceptions, each thread reuses one scanner through {@link #local()}.
+ * <p>
+ * The numbers accepted are an optional sign followed by either
+ * <ul>
+ *     <li>a radix prefix ({@code 0x} or {@code 0b}) and it's digits, e.g: {@code 0xFF}</li>
+ *     <li>decimal digits with an optional fraction and exponent, then an optional suffix
+ *     multiplying the number by a thousand ({@code k}), a million ({@code m}), a billion ({@code b})
+ *     or a trillion ({@code t}), e.g: {@code 1.5e3}, {@code 2.5k}</li>
+ * </ul>
+ * An integral number must be whole once it's exponent and suffix are applied (e.g: {@code 1.5k} is {@code 1500}).
+ * The errors are returned as the error codes of {@link ArgumentNumber}.
+ */
+public final class NumberScanner {
+
+	public final static int OK = 0;
+
+	// the powers of ten represented exactly by a double
+	private final static double[] POWERS_OF_TEN = {
+					1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+					1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	// the largest integer whose double is exact
+	private final static long EXACT_DOUBLE_LIMIT = 1L << 53;
+
+	private final static int EXPONENT_LIMIT = 10_000;
+
+	private final static ThreadLocal<NumberScanner> LOCAL = ThreadLocal.withInitial(NumberScanner::new);
+
+	private long longValue;
+
+	private double doubleValue;
+
+	/**
+	 * @return the scanner of the current thread
+	 */
+	public static @NotNull NumberScanner local() {
+		return LOCAL.get();
+	}
+
+	private static int overflow(boolean negative) {
+		return negative ? ArgumentNumber.TOO_LOW_ERROR : ArgumentNumber.TOO_HIGH_ERROR;
+	}
+
+	private static int digit(char c, int radix) {
+		int digit;
+		if (c >= '0' && c <= '9') digit = c - '0';
+		else if (c >= 'a' && c <= 'f') digit = c - 'a' + 10;
+		else if (c >= 'A' && c <= 'F') digit = c - 'A' + 10;
+		else return -1;
+
+		return digit < radix ? digit : -1;
+	}
+
+	private static int suffixScale(char c) {
+		return switch (c) {
+			case 'k', 'K' -> 3;
+			case 'm', 'M' -> 6;
+			case 'b', 'B' -> 9;
+			case 't', 'T' -> 12;
+			default -> -1;
+		};
+	}
+
+	/**
+	 * @return the value scanned last, truncated if it's not integral
+	 */
+	public long longValue() {
+		return longValue;
+	}
+
+	/**
+	 * @return the value scanned last
+	 */
+	public double doubleValue() {
+		return doubleValue;
+	}
+
+	/**
+	 * Scans a number
+	 *
+	 * @param input    the input to scan entirely
+	 * @param integral whether the number must be a whole number fitting in a long
+	 * @return {@link #OK} if the number is valid, then it's available through {@link #longValue()} and {@link #doubleValue()},
+	 * otherwise {@link ArgumentNumber#NOT_NUMBER_ERROR}, or {@link ArgumentNumber#TOO_LOW_ERROR}/{@link ArgumentNumber#TOO_HIGH_ERROR}
+	 * if it doesn't fit in a long (integral) or a double
+	 */
+	public int scan(@NotNull CharSequence input, boolean integral) {
+		final int length = input.length();
+		if (length == 0) return ArgumentNumber.NOT_NUMBER_ERROR;
+
+		int index = 0;
+		boolean negative = false;
+
+		char first = input.charAt(0);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			index++;
+		}
+
+		if (index + 1 < length && input.charAt(index) == '0') {
+			char prefix = input.charAt(index + 1);
+			if (prefix == 'x' || prefix == 'X') return scanRadix(input, index + 2, 16, negative);
+			if (prefix == 'b' || prefix == 'B') return scanRadix(input, index + 2, 2, negative);
+		}
+
+		return scanDecimal(input, index, negative, integral);
+	}
+
+	private int scanRadix(@NotNull CharSequence input, int index, int radix, boolean negative) {
+		final int length = input.length();
+		if (index == length) return ArgumentNumber.NOT_NUMBER_ERROR;
+
+		// accumulating negatively, since the lowest long has no positive counterpart
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		final long multiplyLimit = limit / radix;
+
+		long accumulated = 0;
+		for (; index < length; index++) {
+			int digit = digit(input.charAt(index), radix);
+			if (digit < 0) return ArgumentNumber.NOT_NUMBER_ERROR;
+
+			if (accumulated < multiplyLimit) return overflow(negative);
+			accumulated *= radix;
+
+			if (accumulated < limit + digit) return overflow(negative);
+			accumulated -= digit;
+		}
+
+		this.longValue = negative ? accumulated : -accumulated;
+		this.doubleValue = longValue;
+		return OK;
+	}
+
+	private int scanDecimal(@NotNull CharSequence input, final int start, boolean negative, boolean integral) {
+		final int length = input.length();
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+
+		// the significant digits accumulated negatively, the digits that didn't fit shift the scale
+		long significand = 0;
+		int scale = 0;
+		boolean truncated = false, digits = false;
+
+		int index = start;
+		for (boolean fraction = false; index < length; index++) {
+			char c = input.charAt(index);
+			if (c == '.' && !fraction) {
+				fraction = true;
+				continue;
+			}
+
+			if (c < '0' || c > '9') break;
+			digits = true;
+
+			int digit = c - '0';
+			if (significand >= (limit + digit) / 10) {
+				significand = significand * 10 - digit;
+				if (fraction) scale--;
+			} else {
+				truncated |= digit != 0;
+				if (!fraction) scale++;
+			}
+
+		}
+
+		if (!digits) return ArgumentNumber.NOT_NUMBER_ERROR;
+
+		// the exponent, capped since anything beyond overflows or vanishes anyway
+		if (index < length && (input.charAt(index) == 'e' || input.charAt(index) == 'E')) {
+			index++;
+
+			boolean negativeExponent = false;
+			if (index < length && (input.charAt(index) == '-' || input.charAt(index) == '+')) {
+				negativeExponent = input.charAt(index) == '-';
+				index++;
+			}
+
+			int exponent = 0;
+			final int exponentStart = index;
+			for (; index < length; index++) {
+				char c = input.charAt(index);
+				if (c < '0' || c > '9') break;
+
+				exponent = Math.min(EXPONENT_LIMIT, exponent * 10 + (c - '0'));
+			}
+
+			if (index == exponentStart) return ArgumentNumber.NOT_NUMBER_ERROR;
+			scale += negativeExponent ? -exponent : exponent;
+		}
+
+		final int numberEnd = index;
+		int suffix = 0;
+		if (index < length && (suffix = suffixScale(input.charAt(index))) > 0) {
+			scale += suffix;
+			index++;
+		}
+
+		if (index != length) return ArgumentNumber.NOT_NUMBER_ERROR;
+
+		return integral
+						? integral(significand, scale, truncated, negative)
+						: floating(input, start, numberEnd, significand, scale, Math.max(suffix, 0), truncated, negative);
+	}
+
+	private int integral(long significand, int scale, boolean truncated, boolean negative) {
+		if (truncated)
+			return scale >= 0 ? overflow(negative) : ArgumentNumber.NOT_NUMBER_ERROR;
+
+		for (; scale < 0 && significand != 0; scale++) {
+			if (significand % 10 != 0) return ArgumentNumber.NOT_NUMBER_ERROR; // not a whole number
+			significand /= 10;
+		}
+
+		final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		for (; scale > 0 && significand != 0; scale--) {
+			if (significand < limit / 10) return overflow(negative);
+			significand *= 10;
+		}
+
+		this.longValue = negative ? significand : -significand;
+		this.doubleValue = longValue;
+		return OK;
+	}
+
+	private int floating(@NotNull CharSequence input, int start, int numberEnd,
+	                     long significand, int scale, int suffix, boolean truncated, boolean negative) {
+		double value;
+
+		// both the significand and the power of ten are exact, so one operation rounds correctly
+		if (!truncated && -significand <= EXACT_DOUBLE_LIMIT && significand >= -EXACT_DOUBLE_LIMIT
+						&& scale >= -22 && scale <= 22) {
+			value = -significand;
+			value = scale >= 0 ? value * POWERS_OF_TEN[scale] : value / POWERS_OF_TEN[-scale];
+		} else {
+			// the rare numbers that are too precise are rounded by the JDK
+			value = Double.parseDouble(input.subSequence(start, numberEnd).toString()) * POWERS_OF_TEN[suffix];
+		}
+
+		if (Double.isInfinite(value)) return overflow(negative);
+
+		this.doubleValue = negative ? -value : value;
+		this.longValue = (long) doubleValue;
+		return OK;
+	}
+
+}
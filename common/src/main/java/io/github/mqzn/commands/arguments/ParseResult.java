@@ -0,0 +1,101 @@
+package io.github.mqzn.commands.arguments;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The outcome of {@link Argument#tryParse(Command, String, ParseTarget)}, reported without throwing.
+ * <p>
+ * The results are immutable and meant to be preallocated: {@link #SUCCESS} is shared by every argument,
+ * and each argument keeps a failure per error code, whose message is only formatted
+ * (from the input that failed) when it's actually needed, e.g: when the caption is sent.
+ */
+public final class ParseResult {
+
+	@NotNull
+	public final static ParseResult SUCCESS = new ParseResult(0, null, null);
+
+	private final int errorCode;
+
+	@Nullable
+	private final MessageSupplier message;
+
+	// the exception thrown by an argument that doesn't report it's failures as results
+	@Nullable
+	private final ArgumentParseException exception;
+
+	private ParseResult(int errorCode, @Nullable MessageSupplier message, @Nullable ArgumentParseException exception) {
+		this.errorCode = errorCode;
+		this.message = message;
+		this.exception = exception;
+	}
+
+	/**
+	 * Creates a failure, to be kept and returned for each input failing the same way
+	 *
+	 * @param errorCode the error code, decided by the argument
+	 * @param message   the supplier of the message from the input that failed
+	 * @return the failure
+	 */
+	public static @NotNull ParseResult failure(int errorCode, @NotNull MessageSupplier message) {
+		return new ParseResult(errorCode, message, null);
+	}
+
+	/**
+	 * Wraps the exception thrown by an argument
+	 *
+	 * @param exception the exception thrown
+	 * @return the failure
+	 */
+	public static @NotNull ParseResult of(@NotNull ArgumentParseException exception) {
+		return new ParseResult(exception.getErrorCode(), null, exception);
+	}
+
+	public boolean isSuccess() {
+		return this == SUCCESS;
+	}
+
+	public boolean isFailure() {
+		return this != SUCCESS;
+	}
+
+	/**
+	 * @return the error code of the failure, zero if it's a success
+	 */
+	public int errorCode() {
+		return errorCode;
+	}
+
+	/**
+	 * Formats the message of the failure
+	 *
+	 * @param input the input that failed
+	 * @return the message
+	 */
+	public @NotNull String message(@NotNull String input) {
+		if (exception != null) return exception.getMessage();
+		return message == null ? "" : message.message(input);
+	}
+
+	/**
+	 * The failure as the exception thrown by {@link Argument#parse(Command, String)}
+	 *
+	 * @param command the command used
+	 * @param input   the input that failed
+	 * @return the exception
+	 */
+	public @NotNull ArgumentParseException toException(@NotNull Command<?> command, @NotNull String input) {
+		if (exception != null) return exception;
+		return new ArgumentParseException(message(input), input, errorCode, command);
+	}
+
+	@FunctionalInterface
+	public interface MessageSupplier {
+
+		@NotNull String message(@NotNull String input);
+
+	}
+
+}
@@ -0,0 +1,19 @@
+package io.github.mqzn.commands.arguments;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives the value parsed by {@link Argument#tryParse(io.github.mqzn.commands.base.Command, String, ParseTarget)},
+ * the primitive values are received unboxed, e.g: into the primitive slots of a context
+ */
+public interface ParseTarget {
+
+	void value(@Nullable Object value);
+
+	void longValue(long value);
+
+	void doubleValue(double value);
+
+	void booleanValue(boolean value);
+
+}
@@ -4,10 +4,12 @@ import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.arguments.ArgumentInteger;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.cooldown.CommandCooldown;
+import io.github.mqzn.commands.base.cooldown.CommandRateLimit;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.syntax.CommandExecution;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.base.syntax.CommandSyntaxBuilder;
+import io.github.mqzn.commands.base.syntax.SyntaxTree;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -64,6 +66,13 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 	 */
 	@NotNull CommandCooldown cooldown();
 
+	/**
+	 * Represents how often the command can be used within a window of time
+	 *
+	 * @return the rate limit of the command
+	 */
+	@NotNull CommandRateLimit rateLimit();
+
 	/**
 	 * The requirements for the command to be executed
 	 *
@@ -86,11 +95,24 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 	 */
 	@NotNull List<CommandSyntax<S>> syntaxes();
 
+	/**
+	 * The dispatch tree compiled from the syntaxes
+	 * of this command when it was built
+	 *
+	 * @return the compiled syntax tree
+	 * @see SyntaxTree
+	 */
+	@NotNull SyntaxTree<S> syntaxTree();
+
 
 	default boolean hasCooldown() {
 		return !cooldown().isEmpty();
 	}
 
+	default boolean hasRateLimit() {
+		return !rateLimit().isEmpty();
+	}
+
 	/**
 	 * An internal builder class for the command
 	 * class {@link Command<S>}
@@ -115,6 +137,8 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 		@NotNull
 		private CommandCooldown cooldown = CommandCooldown.EMPTY;
 		@NotNull
+		private CommandRateLimit rateLimit = CommandRateLimit.EMPTY;
+		@NotNull
 		private CommandInfo info = CommandInfo.EMPTY_INFO;
 
 		private CommandExecution<S, S> defaultExecutor;
@@ -151,6 +175,11 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 			return this;
 		}
 
+		public Builder<S> rateLimit(@NotNull CommandRateLimit rateLimit) {
+			this.rateLimit = rateLimit;
+			return this;
+		}
+
 
 		public synchronized Command<S> build() {
 			if (manager.helpProvider() != null) {
@@ -171,7 +200,7 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 				syntaxes.add(helpSyntax);
 			}
 
-			return new ImmutableCommandImpl<>(manager, name, info, cooldown, requirements, syntaxes, defaultExecutor);
+			return new ImmutableCommandImpl<>(manager, name, info, cooldown, rateLimit, requirements, syntaxes, SyntaxTree.compile(syntaxes), defaultExecutor);
 		}
 
 
@@ -179,8 +208,10 @@ public sealed interface Command<S> permits Command.Builder.ImmutableCommandImpl
 		                               @NotNull String name,
 		                               @NotNull CommandInfo info,
 		                               @NotNull CommandCooldown cooldown,
+		                               @NotNull CommandRateLimit rateLimit,
 		                               @NotNull Set<CommandRequirement<S>> requirements,
 		                               @NotNull List<CommandSyntax<S>> syntaxes,
+		                               @NotNull SyntaxTree<S> syntaxTree,
 		                               @Nullable CommandExecution<S, S> execution) implements Command<S> {
 
 			/**
@@ -0,0 +1,179 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves the writing of the audit records off the threads executing the commands,
+ * the records are put into a bounded ring buffer that a background thread drains
+ * into the sink wrapped, flushing it after each batch.
+ * <p>
+ * Accepting a record never blocks: when the ring buffer is full the record is dropped
+ * and counted by {@link #dropped()}, so a slow disk can never stall the server,
+ * the records accepted after {@link #close()} are dropped as well.
+ */
+public final class AsyncAuditSink implements AuditSink {
+
+	public final static int DEFAULT_CAPACITY = 8192;
+
+	public final static long DEFAULT_FLUSH_INTERVAL_MILLIS = 250;
+
+	@NotNull
+	private final AuditSink sink;
+
+	@NotNull
+	private final Logger logger;
+
+	@NotNull
+	private final AtomicReferenceArray<AuditRecord> ring;
+
+	private final int mask;
+
+	private final long flushIntervalNanos;
+
+	// the next sequence to claim by the producers
+	@NotNull
+	private final AtomicLong tail = new AtomicLong();
+
+	// the next sequence to drain, only written by the writer thread
+	private volatile long head;
+
+	@NotNull
+	private final LongAdder dropped = new LongAdder();
+
+	@NotNull
+	private final Thread writer;
+
+	private volatile boolean running = true;
+
+	/**
+	 * Wraps a sink
+	 *
+	 * @param sink                the sink to write the records to, only it's {@link AuditSink#isLoggable(Level)} is called by other threads
+	 * @param capacity            the capacity of the ring buffer, rounded up to a power of two
+	 * @param flushIntervalMillis the longest time a record waits before being written
+	 * @param logger              the logger the failures of the sink are reported to, e.g: the one of the manager
+	 */
+	public AsyncAuditSink(@NotNull AuditSink sink, int capacity, long flushIntervalMillis, @NotNull Logger logger) {
+		final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+		this.sink = sink;
+		this.logger = logger;
+		this.ring = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+		this.writer = new Thread(this::drainLoop, "mCommands-audit-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	public AsyncAuditSink(@NotNull AuditSink sink, @NotNull Logger logger) {
+		this(sink, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL_MILLIS, logger);
+	}
+
+	@Override
+	public boolean isLoggable(@NotNull Level level) {
+		return running && sink.isLoggable(level);
+	}
+
+	@Override
+	public void accept(@NotNull AuditRecord record) {
+		// nothing drains the ring once it's closed
+		if (!running) return;
+
+		long sequence;
+		do {
+			sequence = tail.get();
+			if (sequence - head > mask) {
+				dropped.increment();
+				return;
+			}
+		} while (!tail.compareAndSet(sequence, sequence + 1));
+
+		ring.set((int) sequence & mask, record);
+
+		// waking the writer early once the ring is half full
+		if (sequence - head == (mask >> 1))
+			LockSupport.unpark(writer);
+	}
+
+	/**
+	 * @return the number of records dropped because the ring buffer was full
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Wakes the writer up, so the records accepted so far are written soon
+	 */
+	@Override
+	public void flush() {
+		LockSupport.unpark(writer);
+	}
+
+	/**
+	 * Stops accepting records, writes the ones accepted so far
+	 * and closes the sink wrapped
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(writer);
+
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+	}
+
+	private void drainLoop() {
+		try {
+			while (running) {
+				if (drain() == 0)
+					LockSupport.parkNanos(this, flushIntervalNanos);
+			}
+
+			drain();
+		} catch (Throwable throwable) {
+			logger.log(Level.SEVERE, "The audit records stopped being written", throwable);
+		} finally {
+			sink.close();
+		}
+
+	}
+
+	// writes the records published in order, stopping at the first slot claimed but not published yet
+	private int drain() {
+		int drained = 0;
+		long sequence = head;
+
+		AuditRecord record;
+		while ((record = ring.get((int) sequence & mask)) != null) {
+			ring.set((int) sequence & mask, null);
+			head = ++sequence;
+
+			try {
+				sink.accept(record);
+			} catch (RuntimeException ex) {
+				logger.log(Level.WARNING, "An audit record couldn't be written", ex);
+			}
+
+			drained++;
+		}
+
+		if (drained > 0) sink.flush();
+		return drained;
+	}
+
+}
@@ -0,0 +1,105 @@
+package io.github.mqzn.commands.base.audit;
+
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator.ExecutionResult;
+import io.github.mqzn.commands.base.pipeline.ExecutionStage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+
+/**
+ * The audit of one invocation of a command, it only holds the raw parts of the invocation,
+ * so nothing is formatted until a sink actually writes it
+ *
+ * @param timestamp      the time the invocation finished at, in epoch milliseconds
+ * @param commandStarter the char the commands start with, e.g: '/'
+ * @param sender         the name of the sender
+ * @param command        the name of the command
+ * @param arguments      the raw arguments
+ * @param result         the result of the execution, null if it wasn't executed
+ * @param haltedAt       the stage that ended the invocation early, null if it went through all the stages
+ * @param durationNanos  the time the invocation took, in nanoseconds
+ */
+public record AuditRecord(long timestamp,
+                          char commandStarter,
+                          @NotNull String sender,
+                          @NotNull String command,
+                          @NotNull String[] arguments,
+                          @Nullable ExecutionResult result,
+                          @Nullable ExecutionStage haltedAt,
+                          long durationNanos) {
+
+	/**
+	 * The level of an invocation, executed ones are {@link Level#INFO}
+	 * and the ones that were halted before executing (e.g: denied or in cooldown) are {@link Level#FINE}
+	 *
+	 * @param result the result of the execution, null if it wasn't executed
+	 * @return the level of the invocation
+	 */
+	public static @NotNull Level levelOf(@Nullable ExecutionResult result) {
+		return result == null ? Level.FINE : Level.INFO;
+	}
+
+	public @NotNull Level level() {
+		return levelOf(result);
+	}
+
+	/**
+	 * @return the command as it was typed, e.g: "/give item apple 5"
+	 */
+	public @NotNull String commandLine() {
+		StringBuilder builder = new StringBuilder(command.length() + 1 + arguments.length * 8)
+						.append(commandStarter).append(command);
+
+		for (String argument : arguments)
+			builder.append(' ').append(argument);
+
+		return builder.toString();
+	}
+
+	/**
+	 * Formats the record as a single JSON object, without a line break
+	 *
+	 * @return the JSON line
+	 */
+	public @NotNull String toJson() {
+		StringBuilder builder = new StringBuilder(128);
+		builder.append("{\"time\":").append(timestamp);
+		builder.append(",\"sender\":");
+		appendString(builder, sender);
+		builder.append(",\"command\":");
+		appendString(builder, command);
+
+		builder.append(",\"arguments\":[");
+		for (int i = 0; i < arguments.length; i++) {
+			if (i > 0) builder.append(',');
+			appendString(builder, arguments[i]);
+		}
+		builder.append(']');
+
+		if (result != null) builder.append(",\"result\":\"").append(result.name()).append('"');
+		if (haltedAt != null) builder.append(",\"haltedAt\":\"").append(haltedAt.name()).append('"');
+
+		return builder.append(",\"durationNanos\":").append(durationNanos).append('}').toString();
+	}
+
+	private static void appendString(@NotNull StringBuilder builder, @NotNull String value) {
+		builder.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> builder.append("\\\"");
+				case '\\' -> builder.append("\\\\");
+				case '\n' -> builder.append("\\n");
+				case '\r' -> builder.append("\\r");
+				case '\t' -> builder.append("\\t");
+				default -> {
+					if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+					else builder.append(c);
+				}
+			}
+		}
+		builder.append('"');
+	}
+
+}
@@ -0,0 +1,47 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+
+/**
+ * A destination of the audit records of the commands executed.
+ * <p>
+ * The manager asks {@link #isLoggable(Level)} before creating a record,
+ * so a sink that's disabled for a level costs nothing for the invocations of that level.
+ * {@link #accept(AuditRecord)} is called on the thread finishing the invocation,
+ * so a sink doing I/O should be wrapped in an {@link AsyncAuditSink}.
+ *
+ * @see AuditRecord
+ */
+public interface AuditSink extends AutoCloseable {
+
+	/**
+	 * @param level the level of a record
+	 * @return whether the records of the level are written
+	 */
+	boolean isLoggable(@NotNull Level level);
+
+	/**
+	 * Writes a record, only called for the levels that are loggable
+	 *
+	 * @param record the record
+	 */
+	void accept(@NotNull AuditRecord record);
+
+	/**
+	 * Writes out the records accepted so far, if the sink buffers them
+	 */
+	default void flush() {
+
+	}
+
+	/**
+	 * Flushes and releases the resources of the sink
+	 */
+	@Override
+	default void close() {
+		flush();
+	}
+
+}
@@ -0,0 +1,34 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the audit records to a logger, the default sink of the manager.
+ * A record is only formatted when it's level is loggable by the logger.
+ */
+public final class LoggerAuditSink implements AuditSink {
+
+	@NotNull
+	private final Logger logger;
+
+	public LoggerAuditSink(@NotNull Logger logger) {
+		this.logger = logger;
+	}
+
+	@Override
+	public boolean isLoggable(@NotNull Level level) {
+		return logger.isLoggable(level);
+	}
+
+	@Override
+	public void accept(@NotNull AuditRecord record) {
+		if (record.result() != null)
+			logger.log(record.level(), record.sender() + " has executed the command '" + record.commandLine() + "'");
+		else
+			logger.log(record.level(), record.sender() + " was halted at " + record.haltedAt() + " using the command '" + record.commandLine() + "'");
+	}
+
+}
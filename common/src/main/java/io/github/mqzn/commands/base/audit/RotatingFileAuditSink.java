@@ -0,0 +1,159 @@
+package io.github.mqzn.commands.base.audit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the audit records to a local file as JSON lines (see {@link AuditRecord#toJson()}),
+ * once the file reaches it's maximum size it's rotated: "audit.log" becomes "audit.log.1",
+ * "audit.log.1" becomes "audit.log.2" and so on, the oldest file is deleted.
+ * <p>
+ * It writes synchronously, so it's meant to be wrapped in an {@link AsyncAuditSink},
+ * see {@link #async(Path, long, int, Level, Logger)}
+ */
+public final class RotatingFileAuditSink implements AuditSink {
+
+	private final static int BUFFER_SIZE = 64 * 1024;
+
+	@NotNull
+	private final Path file;
+
+	private final long maxBytes;
+
+	private final int maxFiles;
+
+	@NotNull
+	private final Level level;
+
+	@NotNull
+	private final Logger logger;
+
+	@Nullable
+	private OutputStream out;
+
+	private long written;
+
+	/**
+	 * @param file     the file to write to, created with it's parent directories if it doesn't exist
+	 * @param maxBytes the size after which the file is rotated
+	 * @param maxFiles the number of rotated files kept besides the current one
+	 * @param level    the lowest level of the records written
+	 * @param logger   the logger the I/O failures are reported to, e.g: the one of the manager
+	 */
+	public RotatingFileAuditSink(@NotNull Path file, long maxBytes, int maxFiles, @NotNull Level level, @NotNull Logger logger) {
+		this.file = file;
+		this.maxBytes = maxBytes;
+		this.maxFiles = maxFiles;
+		this.level = level;
+		this.logger = logger;
+	}
+
+	/**
+	 * A rotating file sink written by a background thread
+	 *
+	 * @param file     the file to write to
+	 * @param maxBytes the size after which the file is rotated
+	 * @param maxFiles the number of rotated files kept besides the current one
+	 * @param level    the lowest level of the records written
+	 * @param logger   the logger the failures are reported to, e.g: the one of the manager
+	 * @return the async sink
+	 */
+	public static @NotNull AsyncAuditSink async(@NotNull Path file, long maxBytes, int maxFiles, @NotNull Level level, @NotNull Logger logger) {
+		return new AsyncAuditSink(new RotatingFileAuditSink(file, maxBytes, maxFiles, level, logger), logger);
+	}
+
+	@Override
+	public boolean isLoggable(@NotNull Level level) {
+		return level.intValue() >= this.level.intValue();
+	}
+
+	@Override
+	public void accept(@NotNull AuditRecord record) {
+		byte[] line = (record.toJson() + '\n').getBytes(StandardCharsets.UTF_8);
+
+		try {
+			if (out != null && written + line.length > maxBytes) rotate();
+			if (out == null) open();
+
+			out.write(line);
+			written += line.length;
+		} catch (IOException ex) {
+			logger.log(Level.WARNING, "An audit record couldn't be written to '" + file + "'", ex);
+			closeQuietly();
+		}
+
+	}
+
+	@Override
+	public void flush() {
+		if (out == null) return;
+
+		try {
+			out.flush();
+		} catch (IOException ex) {
+			logger.log(Level.WARNING, "The audit records couldn't be flushed to '" + file + "'", ex);
+		}
+
+	}
+
+	@Override
+	public void close() {
+		flush();
+		closeQuietly();
+	}
+
+	private void open() throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) Files.createDirectories(parent);
+
+		out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE);
+		written = Files.size(file);
+	}
+
+	private void rotate() throws IOException {
+		closeQuietly();
+
+		if (maxFiles <= 0) {
+			Files.deleteIfExists(file);
+			return;
+		}
+
+		Files.deleteIfExists(rotated(maxFiles));
+		for (int index = maxFiles - 1; index >= 1; index--) {
+			Path source = rotated(index);
+			if (Files.exists(source))
+				Files.move(source, rotated(index + 1), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@NotNull
+	private Path rotated(int index) {
+		return file.resolveSibling(file.getFileName() + "." + index);
+	}
+
+	private void closeQuietly() {
+		if (out == null) return;
+
+		try {
+			out.close();
+		} catch (IOException ex) {
+			logger.log(Level.WARNING, "Couldn't close the audit file '" + file + "'", ex);
+		}
+
+		out = null;
+	}
+
+}
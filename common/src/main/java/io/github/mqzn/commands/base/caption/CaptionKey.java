@@ -12,6 +12,8 @@ public final class CaptionKey {
 	public final static CaptionKey INVALID_ARGUMENT = CaptionKey.of("argument.parsing-invalid");
 	public static final CaptionKey NO_HELP_TOPIC_AVAILABLE = CaptionKey.of("execution.unknown-help-topic");
 	public static final CaptionKey COMMAND_IN_COOLDOWN = CaptionKey.of("execution.command-cooldown");
+	public static final CaptionKey COMMAND_RATE_LIMITED = CaptionKey.of("execution.command-rate-limited");
+	public static final CaptionKey EXECUTION_REJECTED = CaptionKey.of("execution.rejected");
 
 	private final String key;
 
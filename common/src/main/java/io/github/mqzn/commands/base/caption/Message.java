@@ -1,8 +1,13 @@
 package io.github.mqzn.commands.base.caption;
 
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.exceptions.CommandException;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public interface Message {
 
@@ -20,4 +25,19 @@ public interface Message {
 		return PREFIX.append(component);
 	}
 
+	/**
+	 * The message of the argument that failed to parse, for the captions of {@link CaptionKey#INVALID_ARGUMENT}
+	 * which are sent without an exception unless a callback of the exception is registered
+	 *
+	 * @param context   the context of the parse
+	 * @param exception the exception if any
+	 * @return the message of the failure
+	 */
+	static @NotNull String invalidArgument(@NotNull Context<?> context, @Nullable CommandException exception) {
+		if (exception != null) return exception.getMessage();
+
+		String message = context instanceof CommandContext<?> commandContext ? commandContext.parseFailureMessage() : null;
+		return message == null ? "Invalid argument used" : message;
+	}
+
 }
@@ -2,19 +2,20 @@ package io.github.mqzn.commands.base.context;
 
 import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.arguments.ParseResult;
+import io.github.mqzn.commands.arguments.ParseTarget;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.base.syntax.ParsedArguments;
 import io.github.mqzn.commands.exceptions.types.ArgumentParseException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
 
 public final class CommandContext<S> implements Context<S> {
 
@@ -24,25 +25,97 @@ public final class CommandContext<S> implements Context<S> {
 	@NotNull
 	private final DelegateCommandContext<S> delegateContext;
 
+	private final static Object[] NO_VALUES = new Object[0];
+
+	// the kinds of the values, the numbers and the booleans are parsed into the primitive slots
+	// and only boxed into the values if they're fetched by getArgument
+	private final static byte OBJECT = 0, LONG = 1, DOUBLE = 2, BOOLEAN = 3;
+
+	// the parsed values by the position of their arguments in the syntax
+	// may be longer than the syntax when recycled
 	@NotNull
-	private final Map<ArgumentKey, ParsedArgument<?>> parsedArguments = new HashMap<>();
+	private final Object[] values;
+
+	// the primitive values, as longs or as the raw bits of doubles
+	private final long @NotNull [] slots;
+
+	private final byte @NotNull [] kinds;
+
+	private int parsedCount = 0;
 
 	private final CommandSyntax<S> syntax;
 
 	private final ContextFlagRegistry<S> contextFlagRegistry;
 
+	// writes the values parsed into the slot of the argument being parsed
+	@NotNull
+	private final SlotTarget target = new SlotTarget();
+
+	// the outcome of the last parse
+	private boolean failed;
+
+	@Nullable
+	private Argument<?> failedArgument;
+
+	@Nullable
+	private ParseResult parseResult;
+
+	@Nullable
+	private String failedInput;
+
+	// created from the parse result once it's asked for
+	@Nullable
+	private ArgumentParseException parseFailure;
+
 
-	private CommandContext(@NotNull CommandManager<?, S> manager,
-	                       CommandSyntax<S> syntax,
-	                       @NotNull DelegateCommandContext<S> context) {
+	CommandContext(@NotNull CommandManager<?, S> manager,
+	               CommandSyntax<S> syntax,
+	               @NotNull DelegateCommandContext<S> context) {
 
 		this.manager = manager;
 		this.syntax = syntax;
 		this.delegateContext = context;
+		this.values = syntax == null ? NO_VALUES : new Object[syntax.length()];
+		this.slots = new long[values.length];
+		this.kinds = new byte[values.length];
 		contextFlagRegistry = ContextFlagRegistry.create(manager, this);
 
 	}
 
+	// a recycled context over the arrays of the storage leased to it's delegate context
+	CommandContext(@NotNull CommandManager<?, S> manager,
+	               @NotNull CommandSyntax<S> syntax,
+	               @NotNull DelegateCommandContext<S> context,
+	               @NotNull ContextPool.Slot slot) {
+
+		this.manager = manager;
+		this.syntax = syntax;
+		this.delegateContext = context;
+		contextFlagRegistry = ContextFlagRegistry.create(manager, this);
+
+		final int length = syntax.length();
+		if (slot.values.length < length) {
+			slot.values = new Object[length];
+			slot.primitives = new long[length];
+			slot.kinds = new byte[length];
+		} else {
+			Arrays.fill(slot.values, 0, length, null);
+			Arrays.fill(slot.kinds, 0, length, OBJECT);
+		}
+
+		this.values = slot.values;
+		this.slots = slot.primitives;
+		this.kinds = slot.kinds;
+	}
+
+	private void clearFailure() {
+		this.failed = false;
+		this.failedArgument = null;
+		this.parseResult = null;
+		this.failedInput = null;
+		this.parseFailure = null;
+	}
+
 	public static <S> CommandContext<S> create(@NotNull CommandManager<?, S> manager,
 	                                           @NotNull CommandSyntax<S> syntax,
 	                                           @NotNull DelegateCommandContext<S> context) {
@@ -60,7 +133,10 @@ public final class CommandContext<S> implements Context<S> {
 	public <T> void parse() {
 
 		@NotNull S sender = sender();
+		clearFailure();
+
 		if (syntax == null) {
+			failed = true;
 			manager.captionRegistry()
 							.sendCaption(sender,
 											this, CaptionKey.UNKNOWN_COMMAND);
@@ -69,54 +145,60 @@ public final class CommandContext<S> implements Context<S> {
 
 
 		var result = contextFlagRegistry.extractFlags(sender, syntax);
-		if (result == ContextFlagRegistry.FlagExtractionResult.FAILED)
+		if (result == ContextFlagRegistry.FlagExtractionResult.FAILED) {
+			failed = true;
 			return;
+		}
+
+		// the values parsed while the syntax was chosen, unless an interceptor changed it since
+		ParsedArguments matched = delegateContext.matchedArguments();
+		if (matched != null && matched.syntax() != syntax) matched = null;
 
 		for (int i = 0, rawIndex = 0; i < syntax.length(); i++) {
 			Argument<T> required = (Argument<T>) syntax.getArguments().get(i);
 
+			// the flags are skipped the same way the syntax was matched, see SyntaxTree
 			if (required instanceof ArgumentLiteral) {
-				rawIndex++;
+				rawIndex = delegateContext.skipFlags(rawIndex) + 1;
 				continue;
 			}
 
-			String rawArg = getRawArgument(rawIndex);
-
-			if (rawArg != null && ContextFlagRegistry.isRawArgumentFlag(rawArg) && !required.useRemainingSpace()) {
-				rawArg = getRawArgument(++rawIndex);
-			} else if (required.useRemainingSpace()) {
-
-				StringBuilder builder = new StringBuilder();
-				for (int x = rawIndex; x < delegateContext.getRawArguments().size(); x++) {
-					String raw = getRawArgument(x);
-					builder.append(raw);
-					if (x != delegateContext.getRawArguments().size() - 1) builder.append(" ");
-				}
-
-				rawArg = builder.toString();
+			String rawArg;
 
-			}
+			if (!required.useRemainingSpace()) {
+				rawIndex = delegateContext.skipFlags(rawIndex);
+				rawArg = getRawArgument(rawIndex);
+			} else {
 
-			T value = null;
+				// the tail of the line is a view, copied once into the value
+				rawArg = delegateContext.commandLine().tail(rawIndex).toString();
 
-			if (rawArg == null && required.isOptional() && required.defaultValue() != null) {
-				value = required.defaultValue();
 			}
 
-			if (rawArg != null) {
+			kinds[i] = OBJECT;
+			values[i] = null;
 
-				try {
-					if (required.useRemainingSpace()) value = (T) rawArg;
-					else value = required.parse(delegateContext.commandUsed(), rawArg);
-				} catch (ArgumentParseException ex) {
-					manager.exceptionHandler().handleException(ex, sender, this);
+			if (rawArg == null) {
+				if (required.isOptional()) values[i] = required.defaultValue();
+			} else if (required.useRemainingSpace()) {
+				values[i] = rawArg;
+			} else {
+				target.slot = i;
+
+				ParseResult parsed = matched != null && matched.replay(i, target)
+								? ParseResult.SUCCESS
+								: required.tryParse(delegateContext.commandUsed(), rawArg, target);
+				if (parsed.isFailure()) {
+					failed = true;
+					failedArgument = required;
+					parseResult = parsed;
+					failedInput = rawArg;
+					manager.exceptionHandler().handleParseFailure(parsed, rawArg, sender, this);
 					return;
 				}
-
 			}
 
-			ParsedArgument<T> parsedArgument = new ParsedArgument<>(required, value, i, rawIndex, rawArg);
-			parsedArguments.put(new ArgumentKey(required.id(), i), parsedArgument);
+			parsedCount++;
 
 			rawIndex++;
 		}
@@ -124,6 +206,63 @@ public final class CommandContext<S> implements Context<S> {
 
 	}
 
+
+	/**
+	 * Whether the last parse failed, because no syntax was used,
+	 * a flag used is unknown or an argument couldn't be parsed
+	 * (the sender is already notified of the failure)
+	 *
+	 * @return whether the last parse failed
+	 */
+	public boolean hasFailed() {
+		return failed;
+	}
+
+	/**
+	 * @return the argument that couldn't be parsed by the last parse, null if none
+	 */
+	public @Nullable Argument<?> failedArgument() {
+		return failedArgument;
+	}
+
+	/**
+	 * @return the failure of the argument that couldn't be parsed, null if none
+	 */
+	public @Nullable ParseResult parseResult() {
+		return parseResult;
+	}
+
+	/**
+	 * @return the input of the argument that couldn't be parsed, null if none
+	 */
+	public @Nullable String failedInput() {
+		return failedInput;
+	}
+
+	/**
+	 * Formats the message of the failure of the argument that couldn't be parsed,
+	 * without creating the exception
+	 *
+	 * @return the message, null if no argument failed
+	 */
+	public @Nullable String parseFailureMessage() {
+		if (parseFailure != null) return parseFailure.getMessage();
+		return parseResult == null || failedInput == null ? null : parseResult.message(failedInput);
+	}
+
+	/**
+	 * The failure of the argument that couldn't be parsed as an exception,
+	 * created the first time it's asked for
+	 *
+	 * @return the exception, null if no argument failed
+	 */
+	public @Nullable ArgumentParseException parseFailure() {
+		if (parseFailure == null && parseResult != null && failedInput != null)
+			parseFailure = parseResult.toException(delegateContext.commandUsed(), failedInput);
+
+		return parseFailure;
+	}
+
 	/**
 	 * The number of parsed args
 	 *
@@ -131,7 +270,8 @@ public final class CommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public int parsedArguments() {
-		return parsedArguments.size();
+		delegateContext.checkAccess();
+		return parsedCount;
 	}
 
 	/**
@@ -142,6 +282,7 @@ public final class CommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @NotNull ContextFlagRegistry<S> flags() {
+		delegateContext.checkAccess();
 		return contextFlagRegistry;
 	}
 
@@ -189,6 +330,17 @@ public final class CommandContext<S> implements Context<S> {
 		return delegateContext.getRawArguments();
 	}
 
+	/**
+	 * The raw arguments used in the context, tokenized
+	 * as slices of the line typed by the command sender
+	 *
+	 * @return the tokenized raw arguments
+	 */
+	@Override
+	public @NotNull CommandLine commandLine() {
+		return delegateContext.commandLine();
+	}
+
 	/**
 	 * The raw arguments formatted using the
 	 * command used
@@ -214,6 +366,18 @@ public final class CommandContext<S> implements Context<S> {
 		return delegateContext.getRawArgument(index);
 	}
 
+	/**
+	 * Checks whether the raw argument at a specific position is a flag,
+	 * the raw arguments are classified once when the context is created
+	 *
+	 * @param index the index of the raw argument
+	 * @return whether the raw argument is a flag, false if the index is out of bounds
+	 */
+	@Override
+	public boolean isFlag(int index) {
+		return delegateContext.isFlag(index);
+	}
+
 	/**
 	 * Fetches the parsed argument value
 	 * may return null if the value parsed is not valid
@@ -226,7 +390,8 @@ public final class CommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public <T> @Nullable T getArgument(String id) {
-		return getParsedArgument((key) -> key.id.equalsIgnoreCase(id));
+		delegateContext.checkAccess();
+		return syntax == null ? null : getArgument(syntax.slotOf(id));
 	}
 
 	/**
@@ -239,31 +404,114 @@ public final class CommandContext<S> implements Context<S> {
 	 * @param index the argument index/position
 	 * @return the parsed value of the argument
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> @Nullable T getArgument(int index) {
-		return getParsedArgument((key) -> key.requiredArgIndex == index);
+		delegateContext.checkAccess();
+		if (index < 0 || index >= values.length) return null;
+
+		Object value = values[index];
+		if (value == null && kinds[index] != OBJECT)
+			values[index] = value = box(index);
+
+		return (T) value;
 	}
 
-	@SuppressWarnings("unchecked")
-	@Nullable
-	private <T> T getParsedArgument(@NotNull Predicate<ArgumentKey> predicate) {
+	@Override
+	public long getLong(String id) {
+		final int slot = primitiveSlot(id);
+		if (slot < 0 || kinds[slot] == BOOLEAN) return Context.super.getLong(id);
 
-		for (ArgumentKey key : parsedArguments.keySet()) {
-			if (!predicate.test(key)) continue;
+		return kinds[slot] == LONG ? slots[slot] : (long) Double.longBitsToDouble(slots[slot]);
+	}
 
-			ParsedArgument<T> parsedArgument = (ParsedArgument<T>) parsedArguments.get(key);
-			return parsedArgument.value();
-		}
+	@Override
+	public long getLong(String id, long defaultValue) {
+		final int slot = primitiveSlot(id);
+		if (slot < 0 || kinds[slot] == BOOLEAN) return Context.super.getLong(id, defaultValue);
+
+		return kinds[slot] == LONG ? slots[slot] : (long) Double.longBitsToDouble(slots[slot]);
+	}
+
+	@Override
+	public double getDouble(String id) {
+		final int slot = primitiveSlot(id);
+		if (slot < 0 || kinds[slot] == BOOLEAN) return Context.super.getDouble(id);
 
-		return null;
+		return kinds[slot] == LONG ? slots[slot] : Double.longBitsToDouble(slots[slot]);
 	}
 
-	private record ArgumentKey(String id, int requiredArgIndex) {
+	@Override
+	public double getDouble(String id, double defaultValue) {
+		final int slot = primitiveSlot(id);
+		if (slot < 0 || kinds[slot] == BOOLEAN) return Context.super.getDouble(id, defaultValue);
 
+		return kinds[slot] == LONG ? slots[slot] : Double.longBitsToDouble(slots[slot]);
 	}
 
-	private record ParsedArgument<T>(@NotNull Argument<T> argToParse, @Nullable T value, int index, int rawIndex,
-	                                 @Nullable String rawValue) {
+	@Override
+	public boolean getBoolean(String id) {
+		final int slot = primitiveSlot(id);
+		if (slot < 0 || kinds[slot] != BOOLEAN) return Context.super.getBoolean(id);
+
+		return slots[slot] != 0;
+	}
+
+	@Override
+	public boolean getBoolean(String id, boolean defaultValue) {
+		final int slot = primitiveSlot(id);
+		if (slot < 0 || kinds[slot] != BOOLEAN) return Context.super.getBoolean(id, defaultValue);
+
+		return slots[slot] != 0;
+	}
+
+	// the slot of the argument if it's value is primitive, otherwise -1
+	private int primitiveSlot(String id) {
+		delegateContext.checkAccess();
+		if (syntax == null) return -1;
+
+		final int slot = syntax.slotOf(id);
+		return slot < 0 || slot >= kinds.length || kinds[slot] == OBJECT ? -1 : slot;
+	}
+
+	@NotNull
+	private Object box(int slot) {
+		final Argument<?> argument = syntax.getArguments().get(slot);
+		final long value = slots[slot];
+
+		return switch (kinds[slot]) {
+			case LONG -> argument.boxLong(value);
+			case DOUBLE -> argument.boxDouble(Double.longBitsToDouble(value));
+			default -> value != 0;
+		};
+	}
+
+	private final class SlotTarget implements ParseTarget {
+
+		private int slot;
+
+		@Override
+		public void value(@Nullable Object value) {
+			values[slot] = value;
+		}
+
+		@Override
+		public void longValue(long value) {
+			slots[slot] = value;
+			kinds[slot] = LONG;
+		}
+
+		@Override
+		public void doubleValue(double value) {
+			slots[slot] = Double.doubleToRawLongBits(value);
+			kinds[slot] = DOUBLE;
+		}
+
+		@Override
+		public void booleanValue(boolean value) {
+			slots[slot] = value ? 1 : 0;
+			kinds[slot] = BOOLEAN;
+		}
 
 	}
 
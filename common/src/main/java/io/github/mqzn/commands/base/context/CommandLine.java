@@ -0,0 +1,263 @@
+package io.github.mqzn.commands.base.context;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The raw arguments of a command, tokenized as slices (an offset and a length)
+ * of the original line instead of being copied into separate strings.
+ * <p>
+ * A token is only turned into a string when it's read for the first time,
+ * the tail of the line (used by greedy arguments) is a view over the line,
+ * and when the line was given already split (as the platforms do),
+ * the tokens are kept as they are and the line is only joined once if it's ever needed.
+ * <p>
+ * The lazily computed parts are idempotent, so racing threads
+ * can only compute the same values twice, never different ones.
+ * A line owned by a {@link ContextPool} is reset for each invocation instead,
+ * so it must never be read after the invocation it belongs to.
+ */
+public final class CommandLine {
+
+	public final static char SEPARATOR = ' ';
+
+	@NotNull
+	private final static String[] NO_TOKENS = new String[0];
+
+	@NotNull
+	private final static int[] NO_OFFSETS = new int[0];
+
+	@NotNull
+	private final static CommandLine EMPTY = new CommandLine("", NO_TOKENS, NO_OFFSETS, NO_OFFSETS);
+
+	// joined lazily when the tokens were given already split
+	@Nullable
+	private CharSequence line;
+
+	// filled lazily when the tokens are slices of a line
+	@NotNull
+	private String[] tokens;
+
+	// may be longer than the number of tokens when the line is reused
+	private int @NotNull [] offsets, lengths;
+
+	private int size;
+
+	@Nullable
+	private List<String> tokenList;
+
+	private CommandLine(@Nullable CharSequence line,
+	                    @NotNull String[] tokens,
+	                    int @NotNull [] offsets,
+	                    int @NotNull [] lengths) {
+		this.line = line;
+		this.tokens = tokens;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.size = offsets.length;
+	}
+
+	/**
+	 * Creates an empty line that's {@link #reset(String[])} for each invocation
+	 *
+	 * @return a reusable line
+	 */
+	static @NotNull CommandLine reusable() {
+		return new CommandLine(null, NO_TOKENS, NO_OFFSETS, NO_OFFSETS);
+	}
+
+	/**
+	 * Tokenizes a line of raw arguments, without the command name,
+	 * each single {@link #SEPARATOR} separates two tokens, so empty tokens are kept
+	 * the same way the platforms split the arguments (e.g: the last empty token while tab-completing)
+	 *
+	 * @param line the raw arguments line
+	 * @return the tokenized line
+	 */
+	public static @NotNull CommandLine of(@NotNull CharSequence line) {
+		final int length = line.length();
+		if (length == 0) return EMPTY;
+
+		int size = 1;
+		for (int i = 0; i < length; i++)
+			if (line.charAt(i) == SEPARATOR) size++;
+
+		final int[] offsets = new int[size], lengths = new int[size];
+		for (int i = 0, token = 0, start = 0; i <= length; i++) {
+			if (i == length || line.charAt(i) == SEPARATOR) {
+				offsets[token] = start;
+				lengths[token++] = i - start;
+				start = i + 1;
+			}
+		}
+
+		return new CommandLine(line, new String[size], offsets, lengths);
+	}
+
+	/**
+	 * Wraps raw arguments already split by the platform,
+	 * the array is neither copied nor modified
+	 *
+	 * @param tokens the raw arguments
+	 * @return the tokenized line
+	 */
+	public static @NotNull CommandLine of(@NotNull String[] tokens) {
+		if (tokens.length == 0) return EMPTY;
+
+		final int[] offsets = new int[tokens.length], lengths = new int[tokens.length];
+		for (int i = 0, offset = 0; i < tokens.length; i++) {
+			offsets[i] = offset;
+			lengths[i] = tokens[i].length();
+			offset += lengths[i] + 1;
+		}
+
+		return new CommandLine(null, tokens, offsets, lengths);
+	}
+
+	/**
+	 * Wraps other raw arguments already split by the platform,
+	 * reusing the offsets of this line when they're long enough
+	 *
+	 * @param tokens the raw arguments
+	 */
+	void reset(@NotNull String[] tokens) {
+		if (offsets.length < tokens.length) {
+			offsets = new int[tokens.length];
+			lengths = new int[tokens.length];
+		}
+
+		for (int i = 0, offset = 0; i < tokens.length; i++) {
+			offsets[i] = offset;
+			lengths[i] = tokens[i].length();
+			offset += lengths[i] + 1;
+		}
+
+		this.tokens = tokens;
+		this.size = tokens.length;
+		this.line = null;
+		this.tokenList = null;
+	}
+
+	/**
+	 * @return the number of tokens
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The length of a token, without turning it into a string
+	 *
+	 * @param index the index of the token
+	 * @return the length of the token
+	 */
+	public int length(int index) {
+		return lengths[index];
+	}
+
+	/**
+	 * A char of a token, without turning it into a string
+	 *
+	 * @param index the index of the token
+	 * @param at    the position of the char in the token
+	 * @return the char
+	 */
+	public char charAt(int index, int at) {
+		String token = tokens[index];
+		if (token != null) return token.charAt(at);
+
+		assert line != null;
+		return line.charAt(offsets[index] + at);
+	}
+
+	/**
+	 * The token at a specific position
+	 *
+	 * @param index the index of the token
+	 * @return the token, or null if the index is out of bounds
+	 */
+	public @Nullable String token(int index) {
+		if (index < 0 || index >= size) return null;
+
+		String token = tokens[index];
+		if (token == null) {
+			assert line != null;
+			token = line.subSequence(offsets[index], offsets[index] + lengths[index]).toString();
+			tokens[index] = token;
+		}
+
+		return token;
+	}
+
+	/**
+	 * @return all the tokens, as an unmodifiable list
+	 */
+	public @NotNull List<String> tokens() {
+		List<String> list = tokenList;
+		if (list == null) {
+			for (int i = 0; i < size; i++) token(i);
+			tokenList = list = Collections.unmodifiableList(Arrays.asList(tokens));
+		}
+
+		return list;
+	}
+
+	/**
+	 * @return the whole line of raw arguments
+	 */
+	public @NotNull CharSequence line() {
+		CharSequence joined = line;
+		if (joined == null)
+			line = joined = String.join(String.valueOf(SEPARATOR), tokens);
+
+		return joined;
+	}
+
+	/**
+	 * The rest of the line starting from a specific token,
+	 * as a view over the line rather than a copy of it
+	 *
+	 * @param index the index of the first token of the tail
+	 * @return the tail of the line, empty if the index is out of bounds
+	 */
+	public @NotNull CharSequence tail(int index) {
+		if (index >= size()) return "";
+
+		CharSequence whole = line();
+		final int offset = index <= 0 ? 0 : offsets[index];
+		return offset == 0 ? whole : new Slice(whole, offset, whole.length() - offset);
+	}
+
+	@Override
+	public String toString() {
+		return line().toString();
+	}
+
+	private record Slice(@NotNull CharSequence source, int offset, int length) implements CharSequence {
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+			return source.charAt(offset + index);
+		}
+
+		@Override
+		public @NotNull CharSequence subSequence(int start, int end) {
+			if (start < 0 || end > length || start > end)
+				throw new IndexOutOfBoundsException(String.format("start %d, end %d, length %d", start, end, length));
+
+			return new Slice(source, offset + start, end - start);
+		}
+
+		@Override
+		public @NotNull String toString() {
+			return source.subSequence(offset, offset + length).toString();
+		}
+
+	}
+
+}
@@ -6,6 +6,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public interface Context<S> {
 
@@ -41,6 +42,14 @@ public interface Context<S> {
 	 */
 	@NotNull List<String> getRawArguments();
 
+	/**
+	 * The raw arguments used in the context, tokenized
+	 * as slices of the line typed by the command sender
+	 *
+	 * @return the tokenized raw arguments
+	 */
+	@NotNull CommandLine commandLine();
+
 	/**
 	 * The raw arguments formatted using the
 	 * command used
@@ -60,6 +69,15 @@ public interface Context<S> {
 	 */
 	@Nullable String getRawArgument(int index);
 
+	/**
+	 * Checks whether the raw argument at a specific position is a flag,
+	 * the raw arguments are classified once when the context is created
+	 *
+	 * @param index the index of the raw argument
+	 * @return whether the raw argument is a flag, false if the index is out of bounds
+	 */
+	boolean isFlag(int index);
+
 
 	/**
 	 * Fetches the parsed argument value
@@ -88,6 +106,100 @@ public interface Context<S> {
 	 */
 	@Nullable <T> T getArgument(int index);
 
+	/**
+	 * Fetches the parsed value of a number argument as an int,
+	 * the numbers parsed by the syntax used are stored unboxed
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value, truncated if it's not integral
+	 * @throws NoSuchElementException if the argument has no value, or it's not a number
+	 */
+	default int getInt(String id) {
+		return (int) getLong(id);
+	}
+
+	/**
+	 * @param id           the argument name/id
+	 * @param defaultValue the value if the argument has none
+	 * @return the parsed value as an int, or the default value
+	 * @see #getInt(String)
+	 */
+	default int getInt(String id, int defaultValue) {
+		return (int) getLong(id, defaultValue);
+	}
+
+	/**
+	 * Fetches the parsed value of a number argument as a long
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value, truncated if it's not integral
+	 * @throws NoSuchElementException if the argument has no value, or it's not a number
+	 */
+	default long getLong(String id) {
+		if (!(getArgument(id) instanceof Number number))
+			throw new NoSuchElementException("The argument '" + id + "' has no number value");
+
+		return number.longValue();
+	}
+
+	/**
+	 * @param id           the argument name/id
+	 * @param defaultValue the value if the argument has none
+	 * @return the parsed value as a long, or the default value
+	 * @see #getLong(String)
+	 */
+	default long getLong(String id, long defaultValue) {
+		return getArgument(id) instanceof Number number ? number.longValue() : defaultValue;
+	}
+
+	/**
+	 * Fetches the parsed value of a number argument as a double
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value
+	 * @throws NoSuchElementException if the argument has no value, or it's not a number
+	 */
+	default double getDouble(String id) {
+		if (!(getArgument(id) instanceof Number number))
+			throw new NoSuchElementException("The argument '" + id + "' has no number value");
+
+		return number.doubleValue();
+	}
+
+	/**
+	 * @param id           the argument name/id
+	 * @param defaultValue the value if the argument has none
+	 * @return the parsed value as a double, or the default value
+	 * @see #getDouble(String)
+	 */
+	default double getDouble(String id, double defaultValue) {
+		return getArgument(id) instanceof Number number ? number.doubleValue() : defaultValue;
+	}
+
+	/**
+	 * Fetches the parsed value of a boolean argument
+	 *
+	 * @param id the argument name/id
+	 * @return the parsed value
+	 * @throws NoSuchElementException if the argument has no value, or it's not a boolean
+	 */
+	default boolean getBoolean(String id) {
+		if (!(getArgument(id) instanceof Boolean value))
+			throw new NoSuchElementException("The argument '" + id + "' has no boolean value");
+
+		return value;
+	}
+
+	/**
+	 * @param id           the argument name/id
+	 * @param defaultValue the value if the argument has none
+	 * @return the parsed value, or the default value
+	 * @see #getBoolean(String)
+	 */
+	default boolean getBoolean(String id, boolean defaultValue) {
+		return getArgument(id) instanceof Boolean value ? value : defaultValue;
+	}
+
 
 	/**
 	 * Parses the arguments into the used syntax
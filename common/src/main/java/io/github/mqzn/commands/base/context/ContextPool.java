@@ -0,0 +1,126 @@
+package io.github.mqzn.commands.base.context;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Recycles the storage of the contexts of the commands executed synchronously,
+ * each thread keeps one line, one array of the flags classified and the arrays of the values parsed
+ * that are reset for each invocation instead of being created again,
+ * only the thin contexts reading them are created for each invocation.
+ * <p>
+ * The storage is leased to the thread executing the invocation until it's released,
+ * each lease has a new generation captured by the contexts handed out with it,
+ * using a context from another thread or after it's lease ended throws an {@link IllegalStateException},
+ * so a context that escapes into a callback fails fast instead of reading another invocation,
+ * even when the callback runs on the same thread during a later invocation.
+ * A command executing another command on the same thread gets new contexts,
+ * since the storage of the thread is still in use.
+ *
+ * @param <S> the sender type
+ */
+public final class ContextPool<S> {
+
+	@NotNull
+	private final CommandManager<?, S> manager;
+
+	@NotNull
+	private final ThreadLocal<Slot> slots = ThreadLocal.withInitial(Slot::new);
+
+	public ContextPool(@NotNull CommandManager<?, S> manager) {
+		this.manager = manager;
+	}
+
+	/**
+	 * Leases the storage of the current thread to a new invocation
+	 *
+	 * @param command  the command used
+	 * @param sender   the command sender
+	 * @param rawInput the raw arguments
+	 * @return the recycled context, or a new one if the storage is already in use
+	 */
+	public @NotNull DelegateCommandContext<S> acquire(@NotNull Command<S> command,
+	                                                  @NotNull S sender,
+	                                                  @NotNull String[] rawInput) {
+		Slot slot = slots.get();
+		if (slot.busy)
+			return DelegateCommandContext.create(manager, command, sender, rawInput);
+
+		slot.busy = true;
+		slot.owner = Thread.currentThread();
+		slot.generation++;
+		return new DelegateCommandContext<>(manager, command, sender, rawInput, slot);
+	}
+
+	/**
+	 * Creates the context of the syntax matched over the storage leased to the delegate
+	 *
+	 * @param syntax   the syntax used
+	 * @param delegate the delegate context acquired from this pool
+	 * @return the recycled context if the delegate is recycled, otherwise a new one
+	 */
+	public @NotNull CommandContext<S> context(@NotNull CommandSyntax<S> syntax,
+	                                          @NotNull DelegateCommandContext<S> delegate) {
+		final Slot slot = delegate.slot();
+		if (slot == null)
+			return CommandContext.create(manager, syntax, delegate);
+
+		return new CommandContext<>(manager, syntax, delegate, slot);
+	}
+
+	/**
+	 * Ends the lease once the invocation is done,
+	 * nothing is done if the delegate context isn't recycled
+	 *
+	 * @param delegate the delegate context acquired from this pool
+	 */
+	public void release(@NotNull DelegateCommandContext<S> delegate) {
+		final Slot slot = delegate.slot();
+		if (slot == null) return;
+
+		slot.release();
+	}
+
+	// the storage of a thread, read by the contexts of the lease matching it's generation
+	final static class Slot {
+
+		@NotNull
+		private final static String[] NO_INPUT = new String[0];
+
+		@NotNull
+		final CommandLine commandLine = CommandLine.reusable();
+
+		boolean @NotNull [] flagArguments = new boolean[0];
+
+		// the values parsed, see CommandContext
+		Object @NotNull [] values = new Object[0];
+
+		long @NotNull [] primitives = new long[0];
+
+		byte @NotNull [] kinds = new byte[0];
+
+		// the thread the storage is leased to, null while it's idle
+		@Nullable
+		Thread owner;
+
+		// bumped when a lease starts and ends, so the contexts of an ended lease fail their checks
+		int generation;
+
+		private boolean busy;
+
+		private void release() {
+			generation++;
+			owner = null;
+			commandLine.reset(NO_INPUT);
+			Arrays.fill(values, null);
+			busy = false;
+		}
+
+	}
+
+}
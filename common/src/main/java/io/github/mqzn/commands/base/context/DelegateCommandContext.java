@@ -3,44 +3,83 @@ package io.github.mqzn.commands.base.context;
 import io.github.mqzn.commands.base.Command;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import io.github.mqzn.commands.base.syntax.ParsedArguments;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public final class DelegateCommandContext<S> implements Context<S> {
 
-	private final static int CAPACITY_ARGUMENTS = 45; // 45-50
-
 	@NotNull
 	private final S sender;
 
 	@NotNull
 	private final Command<S> command;
 
-	@NotNull
-	private final String rawFormatted;
+	private final char commandStarter;
 
 	@NotNull
-	private final List<String> rawArguments = new ArrayList<>(CAPACITY_ARGUMENTS);
+	private final CommandLine commandLine;
+
+	// formatted on demand, most commands never read it
+	@Nullable
+	private String rawFormatted;
+
+	// whether each raw argument is a flag, may be longer than the raw arguments when recycled
+	private final boolean @NotNull [] flagArguments;
 
 	private int flagsUsedInRaw = 0;
 
+	// the values parsed while choosing the syntax among others, null if it was found without parsing
+	@Nullable
+	private ParsedArguments matchedArguments;
+
+	// the storage leased from a pool and the generation of the lease, null if the context isn't recycled
+	@Nullable
+	private final ContextPool.Slot slot;
+
+	private final int lease;
+
 	private DelegateCommandContext(@NotNull CommandManager<?, S> manager,
 	                               @NotNull Command<S> command,
 	                               @NotNull S sender,
-	                               @NotNull String[] rawInput) {
+	                               @NotNull CommandLine commandLine) {
+
+		this.command = command;
+		this.sender = sender;
+		this.commandStarter = manager.commandStarter();
+		this.commandLine = commandLine;
+		this.slot = null;
+		this.lease = 0;
+
+		this.flagArguments = ContextFlagRegistry.classifyFlags(commandLine);
+		for (boolean flag : flagArguments) if (flag) flagsUsedInRaw++;
+
 
+	}
+
+	// a recycled context over the storage leased to the current invocation by it's pool
+	DelegateCommandContext(@NotNull CommandManager<?, S> manager,
+	                       @NotNull Command<S> command,
+	                       @NotNull S sender,
+	                       @NotNull String[] rawInput,
+	                       @NotNull ContextPool.Slot slot) {
 		this.command = command;
 		this.sender = sender;
-		this.rawArguments.addAll(Arrays.asList(rawInput));
-		this.rawFormatted = manager.commandStarter() + command.name() + " " + String.join(" ", rawInput);
+		this.commandStarter = manager.commandStarter();
+		this.slot = slot;
+		this.lease = slot.generation;
 
-		for (var arg : rawInput) if (ContextFlagRegistry.isRawArgumentFlag(arg)) flagsUsedInRaw++;
+		this.commandLine = slot.commandLine;
+		this.commandLine.reset(rawInput);
 
+		if (slot.flagArguments.length < rawInput.length)
+			slot.flagArguments = new boolean[rawInput.length];
 
+		this.flagArguments = slot.flagArguments;
+		for (int i = 0; i < rawInput.length; i++)
+			if (flagArguments[i] = ContextFlagRegistry.isRawArgumentFlag(commandLine, i)) flagsUsedInRaw++;
 	}
 
 	public static <S> @NotNull DelegateCommandContext<S> create(@NotNull CommandManager<?, S> manager,
@@ -48,9 +87,75 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	                                                            @NotNull S sender,
 	                                                            @NotNull String[] rawInput) {
 
-		return new DelegateCommandContext<>(manager, command, sender, rawInput);
+		return new DelegateCommandContext<>(manager, command, sender, CommandLine.of(rawInput));
+	}
+
+	/**
+	 * Creates a context from the raw arguments as a single line (without the command name),
+	 * the line is tokenized in place instead of being split into strings
+	 *
+	 * @param manager the command manager
+	 * @param command the command used
+	 * @param sender  the command sender
+	 * @param rawLine the raw arguments line
+	 * @param <S>     the sender type
+	 * @return the context created
+	 */
+	public static <S> @NotNull DelegateCommandContext<S> create(@NotNull CommandManager<?, S> manager,
+	                                                            @NotNull Command<S> command,
+	                                                            @NotNull S sender,
+	                                                            @NotNull CharSequence rawLine) {
+
+		return new DelegateCommandContext<>(manager, command, sender, CommandLine.of(rawLine));
+	}
+
+
+	/**
+	 * @return whether this context is recycled by a {@link ContextPool}
+	 */
+	public boolean isRecycled() {
+		return slot != null;
+	}
+
+	// the storage leased to this context, null if it isn't recycled
+	@Nullable
+	ContextPool.Slot slot() {
+		return slot;
+	}
+
+	/**
+	 * The values parsed while the syntax used was chosen among
+	 * the other syntaxes matching the same input, replayed when the context is parsed
+	 *
+	 * @return the values parsed, null if the syntax was found without parsing
+	 */
+	public @Nullable ParsedArguments matchedArguments() {
+		checkAccess();
+		return matchedArguments;
+	}
+
+	/**
+	 * Keeps the values parsed while the syntax used was chosen
+	 *
+	 * @param matchedArguments the values parsed, or null if none were
+	 */
+	public void matchedArguments(@Nullable ParsedArguments matchedArguments) {
+		checkAccess();
+		this.matchedArguments = matchedArguments;
 	}
 
+	/**
+	 * Ensures a recycled context is only used during the lease it was created with,
+	 * and only by the thread executing it
+	 *
+	 * @throws IllegalStateException if the context escaped it's invocation
+	 */
+	void checkAccess() {
+		final ContextPool.Slot slot = this.slot;
+		if (slot != null && (slot.generation != lease || slot.owner != Thread.currentThread()))
+			throw new IllegalStateException("A recycled command context was used outside of it's synchronous execution, " +
+							"copy the values needed before passing them to another thread or callback");
+	}
 
 	/**
 	 * Fetches the raw argument from the input in the
@@ -61,8 +166,36 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @Nullable String getRawArgument(int index) {
-		if (index < 0 || index >= rawArguments.size()) return null;
-		return rawArguments.get(index);
+		checkAccess();
+		return commandLine.token(index);
+	}
+
+	/**
+	 * Checks whether the raw argument at a specific position is a flag,
+	 * the raw arguments are classified once when the context is created
+	 *
+	 * @param index the index of the raw argument
+	 * @return whether the raw argument is a flag, false if the index is out of bounds
+	 */
+	@Override
+	public boolean isFlag(int index) {
+		checkAccess();
+		return index >= 0 && index < commandLine.size() && flagArguments[index];
+	}
+
+	/**
+	 * Skips the flags in a row from a position of the raw arguments,
+	 * the cursor the syntaxes are matched and parsed with
+	 *
+	 * @param index the position to start from
+	 * @return the position of the first raw argument from the index that isn't a flag
+	 */
+	public int skipFlags(int index) {
+		checkAccess();
+		final int size = commandLine.size();
+		while (index >= 0 && index < size && flagArguments[index]) index++;
+
+		return index;
 	}
 
 	/**
@@ -132,8 +265,22 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 *
 	 * @return The raw arguments
 	 */
+	@Override
 	public @NotNull List<String> getRawArguments() {
-		return rawArguments;
+		checkAccess();
+		return commandLine.tokens();
+	}
+
+	/**
+	 * The raw arguments used in the context, tokenized
+	 * as slices of the line typed by the command sender
+	 *
+	 * @return the tokenized raw arguments
+	 */
+	@Override
+	public @NotNull CommandLine commandLine() {
+		checkAccess();
+		return commandLine;
 	}
 
 	/**
@@ -143,6 +290,7 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public int flagsUsed() {
+		checkAccess();
 		return flagsUsedInRaw;
 	}
 
@@ -154,6 +302,7 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @NotNull S sender() {
+		checkAccess();
 		return sender;
 	}
 
@@ -166,6 +315,7 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @NotNull Command<S> commandUsed() {
+		checkAccess();
 		return command;
 	}
 
@@ -179,7 +329,12 @@ public final class DelegateCommandContext<S> implements Context<S> {
 	 */
 	@Override
 	public @NotNull String rawFormat() {
-		return rawFormatted;
+		checkAccess();
+		String formatted = rawFormatted;
+		if (formatted == null)
+			rawFormatted = formatted = commandStarter + command.name() + CommandLine.SEPARATOR + commandLine.line();
+
+		return formatted;
 	}
 
 }
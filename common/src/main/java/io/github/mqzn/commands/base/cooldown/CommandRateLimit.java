@@ -0,0 +1,180 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how often a command can be used within a window of time,
+ * unlike {@link CommandCooldown} a burst of uses is tolerated
+ * as long as the number of permits of the window isn't exceeded.
+ *
+ * @see RateLimitStore
+ */
+public final class CommandRateLimit {
+
+	// the sliding window packs it's two counters in 16 bits each
+	public final static int MAX_PERMITS = 0xFFFF;
+
+	@NotNull
+	public static final CommandRateLimit EMPTY = new CommandRateLimit(Algorithm.TOKEN_BUCKET, Scope.SENDER, 0, 0);
+
+	@NotNull
+	private final Algorithm algorithm;
+
+	@NotNull
+	private final Scope scope;
+
+	private final int permits;
+
+	private final long windowNanos;
+
+	private CommandRateLimit(@NotNull Algorithm algorithm, @NotNull Scope scope, int permits, long windowNanos) {
+		this.algorithm = algorithm;
+		this.scope = scope;
+		this.permits = permits;
+		this.windowNanos = windowNanos;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public boolean isEmpty() {
+		return permits <= 0 || windowNanos <= 0;
+	}
+
+	public @NotNull Algorithm algorithm() {
+		return algorithm;
+	}
+
+	public @NotNull Scope scope() {
+		return scope;
+	}
+
+	/**
+	 * @return the number of uses allowed per window
+	 */
+	public int permits() {
+		return permits;
+	}
+
+	public long windowNanos() {
+		return windowNanos;
+	}
+
+	/**
+	 * The time it takes to earn one permit back
+	 * with the {@link Algorithm#TOKEN_BUCKET} algorithm
+	 *
+	 * @return the emission interval in nanoseconds
+	 */
+	public long intervalNanos() {
+		return Math.max(1, windowNanos / Math.max(1, permits));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) return true;
+		if (obj == null || obj.getClass() != this.getClass()) return false;
+		var that = (CommandRateLimit) obj;
+		return this.algorithm == that.algorithm &&
+						this.scope == that.scope &&
+						this.permits == that.permits &&
+						this.windowNanos == that.windowNanos;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(algorithm, scope, permits, windowNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "CommandRateLimit[" +
+						"algorithm=" + algorithm + ", " +
+						"scope=" + scope + ", " +
+						"permits=" + permits + ", " +
+						"windowNanos=" + windowNanos + ']';
+	}
+
+	public enum Algorithm {
+
+		/**
+		 * Permits are earned back one by one at a steady rate,
+		 * up to a burst of all the permits of the window
+		 */
+		TOKEN_BUCKET,
+
+		/**
+		 * The uses of the previous window are weighted by how much of it
+		 * still overlaps the sliding window, so the permits are earned back gradually
+		 * instead of all at once when a fixed window ends
+		 */
+		SLIDING_WINDOW
+
+	}
+
+	public enum Scope {
+
+		/**
+		 * Each sender has it's own permits
+		 */
+		SENDER,
+
+		/**
+		 * All the senders share the permits of the command
+		 */
+		GLOBAL
+
+	}
+
+	public final static class Builder {
+
+		@NotNull
+		private Algorithm algorithm = Algorithm.TOKEN_BUCKET;
+
+		@NotNull
+		private Scope scope = Scope.SENDER;
+
+		private int permits;
+
+		private long windowNanos;
+
+		private Builder() {
+		}
+
+		public Builder algorithm(@NotNull Algorithm algorithm) {
+			this.algorithm = algorithm;
+			return this;
+		}
+
+		public Builder scope(@NotNull Scope scope) {
+			this.scope = scope;
+			return this;
+		}
+
+		public Builder permits(int permits) {
+			this.permits = permits;
+			return this;
+		}
+
+		public Builder window(long value, @NotNull TimeUnit unit) {
+			this.windowNanos = unit.toNanos(value);
+			return this;
+		}
+
+		public CommandRateLimit build() {
+			if (permits < 0 || permits > MAX_PERMITS)
+				throw new IllegalArgumentException("The permits of a rate limit must be between 0 and " + MAX_PERMITS + ", found " + permits);
+
+			if (windowNanos < 0)
+				throw new IllegalArgumentException("The window of a rate limit can't be negative !");
+
+			return new CommandRateLimit(algorithm, scope, permits, windowNanos);
+		}
+
+	}
+
+}
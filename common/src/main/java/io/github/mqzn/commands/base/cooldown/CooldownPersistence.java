@@ -0,0 +1,62 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores the cooldowns of a {@link CooldownStore} somewhere that survives restarts,
+ * e.g: {@link FileCooldownPersistence} keeps them in a local file.
+ * <p>
+ * {@link #save(String, String, long, long)} and {@link #remove(String, String)} are called
+ * by the threads executing the commands, so they must hand the work off and return quickly,
+ * {@link #load(Visitor)} is called once when the persistence is set and must not block either.
+ *
+ * @see CooldownStore#persistence(CooldownPersistence)
+ */
+public interface CooldownPersistence extends AutoCloseable {
+
+	/**
+	 * Visits the cooldowns stored once they're available, without blocking the caller
+	 *
+	 * @param visitor the visitor of each cooldown stored
+	 * @return a future completed once every cooldown stored is visited
+	 */
+	@NotNull CompletableFuture<Void> load(@NotNull Visitor visitor);
+
+	/**
+	 * Stores the start of a cooldown
+	 *
+	 * @param command  the name of the command used
+	 * @param sender   the identity of the sender
+	 * @param lastUse  the time the command was used at, in epoch milliseconds
+	 * @param duration the duration of the cooldown in milliseconds
+	 */
+	void save(@NotNull String command, @NotNull String sender, long lastUse, long duration);
+
+	/**
+	 * Forgets the cooldown of a command for a sender
+	 *
+	 * @param command the name of the command
+	 * @param sender  the identity of the sender
+	 */
+	void remove(@NotNull String command, @NotNull String sender);
+
+	/**
+	 * Writes the changes handed so far, blocking until they survive a restart
+	 */
+	default void flush() {
+	}
+
+	@Override
+	default void close() {
+	}
+
+	@FunctionalInterface
+	interface Visitor {
+
+		void visit(@NotNull String command, @NotNull String sender, long lastUse, long duration);
+
+	}
+
+}
@@ -0,0 +1,264 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import io.github.mqzn.commands.base.Command;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free store of the last time each sender used each command,
+ * it's safe to use from any number of executing threads.
+ * <p>
+ * Entries whose cooldown has passed are useless, so they're evicted
+ * by a sweep that runs at most once per {@link #SWEEP_INTERVAL_MILLIS}
+ * piggybacking on the calls to {@link #tryAcquire(Command, String)}
+ * <p>
+ * The cooldowns only live in memory unless a {@link CooldownPersistence} is set,
+ * which is handed each cooldown started or reset and loads the stored ones back in the background
+ *
+ * @see CommandCooldown
+ */
+public final class CooldownStore {
+
+	public final static long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	// rough sizes of a map node, an AtomicLong, and a String header with it's array
+	private final static long ENTRY_BYTES = 32 + 16 + 24 + 16;
+	private final static long BUCKET_BYTES = 64 + 32 + 24 + 16;
+
+	// marks an entry that is being evicted
+	private final static long EVICTED = Long.MIN_VALUE;
+
+	@NotNull
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+	@NotNull
+	private final AtomicLong nextSweep = new AtomicLong();
+
+	@Nullable
+	private volatile CooldownPersistence persistence;
+
+	/**
+	 * Persists the cooldowns through the persistence supplied,
+	 * the cooldowns it stored are loaded by the persistence in the background
+	 * and merged with the ones started meanwhile
+	 *
+	 * @param persistence the persistence, or null to keep the cooldowns in memory only
+	 * @return a future completed once the stored cooldowns are loaded
+	 */
+	public @NotNull CompletableFuture<Void> persistence(@Nullable CooldownPersistence persistence) {
+		this.persistence = persistence;
+		if (persistence == null) return CompletableFuture.completedFuture(null);
+
+		return persistence.load(this::restore);
+	}
+
+	/**
+	 * @return the persistence of the cooldowns, null if they're kept in memory only
+	 */
+	public @Nullable CooldownPersistence persistence() {
+		return persistence;
+	}
+
+	/**
+	 * Tries to start the cooldown of the command for the sender
+	 *
+	 * @param command the command used
+	 * @param sender  the identity of the sender, e.g: his name
+	 * @return zero if the sender is allowed to use the command (and the cooldown is restarted),
+	 * otherwise the remaining time of the cooldown in milliseconds
+	 */
+	public long tryAcquire(@NotNull Command<?> command, @NotNull String sender) {
+		final long now = System.currentTimeMillis();
+		final long duration = command.cooldown().toMillis();
+		final Bucket bucket = bucket(command.name(), duration);
+
+		sweepIfDue(now);
+
+		while (true) {
+			AtomicLong lastUse = bucket.lastUses.get(sender);
+			if (lastUse == null) {
+				lastUse = bucket.lastUses.putIfAbsent(sender, new AtomicLong(now));
+				if (lastUse == null) return persist(command.name(), sender, now, duration);
+			}
+
+			long last = lastUse.get();
+			if (last == EVICTED) {
+				bucket.lastUses.remove(sender, lastUse);
+				continue;
+			}
+
+			long remaining = (last + duration) - now;
+			if (remaining >= 0) return Math.max(remaining, 1);
+
+			if (lastUse.compareAndSet(last, now)) return persist(command.name(), sender, now, duration);
+		}
+
+	}
+
+	/**
+	 * The remaining time of the cooldown of the command for the sender
+	 *
+	 * @param command the command
+	 * @param sender  the identity of the sender
+	 * @return the remaining time in milliseconds, zero if it's not in a cooldown
+	 */
+	public long remaining(@NotNull Command<?> command, @NotNull String sender) {
+		Bucket bucket = buckets.get(command.name());
+		if (bucket == null) return 0;
+
+		AtomicLong lastUse = bucket.lastUses.get(sender);
+		if (lastUse == null) return 0;
+
+		long last = lastUse.get();
+		if (last == EVICTED) return 0;
+
+		return Math.max(0, (last + command.cooldown().toMillis()) - System.currentTimeMillis());
+	}
+
+	/**
+	 * Clears the cooldown of the command for the sender
+	 *
+	 * @param command the command
+	 * @param sender  the identity of the sender
+	 */
+	public void reset(@NotNull Command<?> command, @NotNull String sender) {
+		Bucket bucket = buckets.get(command.name());
+		if (bucket == null || bucket.lastUses.remove(sender) == null) return;
+
+		final CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.remove(command.name(), sender);
+	}
+
+	/**
+	 * Evicts every entry whose cooldown has passed
+	 *
+	 * @return the number of entries evicted
+	 */
+	public int purgeExpired() {
+		return purgeExpired(System.currentTimeMillis());
+	}
+
+	/**
+	 * The number of (command, sender) entries stored
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for (Bucket bucket : buckets.values())
+			size += bucket.lastUses.size();
+
+		return size;
+	}
+
+	/**
+	 * An estimation of the heap memory used by the stored entries
+	 *
+	 * @return the estimated footprint in bytes
+	 */
+	public long estimatedFootprint() {
+		long bytes = 0;
+		for (var bucketEntry : buckets.entrySet()) {
+			bytes += BUCKET_BYTES + bucketEntry.getKey().length();
+
+			for (String sender : bucketEntry.getValue().lastUses.keySet())
+				bytes += ENTRY_BYTES + sender.length();
+		}
+
+		return bytes;
+	}
+
+	private long persist(@NotNull String command, @NotNull String sender, long now, long duration) {
+		final CooldownPersistence persistence = this.persistence;
+		if (persistence != null) persistence.save(command, sender, now, duration);
+
+		return 0;
+	}
+
+	// merges a stored cooldown, keeping the latest use if the sender used the command meanwhile
+	private void restore(@NotNull String command, @NotNull String sender, long lastUse, long duration) {
+		if (lastUse + duration < System.currentTimeMillis()) return;
+
+		Bucket bucket = buckets.computeIfAbsent(command, (k) -> new Bucket(duration));
+		while (true) {
+			AtomicLong current = bucket.lastUses.get(sender);
+			if (current == null) {
+				if (bucket.lastUses.putIfAbsent(sender, new AtomicLong(lastUse)) == null) return;
+				continue;
+			}
+
+			long last = current.get();
+			if (last == EVICTED) {
+				bucket.lastUses.remove(sender, current);
+				continue;
+			}
+
+			if (last >= lastUse || current.compareAndSet(last, lastUse)) return;
+		}
+
+	}
+
+	@NotNull
+	private Bucket bucket(@NotNull String command, long duration) {
+		Bucket bucket = buckets.get(command);
+		if (bucket == null)
+			bucket = buckets.computeIfAbsent(command, (k) -> new Bucket(duration));
+		else if (bucket.duration != duration)
+			bucket.duration = duration;
+
+		return bucket;
+	}
+
+	private void sweepIfDue(long now) {
+		long due = nextSweep.get();
+		if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_MILLIS)) return;
+
+		purgeExpired(now);
+	}
+
+	private int purgeExpired(long now) {
+		int evicted = 0;
+
+		for (Bucket bucket : buckets.values()) {
+			final long duration = bucket.duration;
+			Iterator<Map.Entry<String, AtomicLong>> iterator = bucket.lastUses.entrySet().iterator();
+
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+				AtomicLong lastUse = entry.getValue();
+				long last = lastUse.get();
+
+				// claiming the entry first, so a concurrent use of it isn't lost
+				if (last != EVICTED && now > last + duration && lastUse.compareAndSet(last, EVICTED)) {
+					bucket.lastUses.remove(entry.getKey(), lastUse);
+					evicted++;
+				}
+
+			}
+
+		}
+
+		return evicted;
+	}
+
+	private final static class Bucket {
+
+		@NotNull
+		private final Map<String, AtomicLong> lastUses = new ConcurrentHashMap<>();
+
+		private volatile long duration;
+
+		private Bucket(long duration) {
+			this.duration = duration;
+		}
+
+	}
+
+}
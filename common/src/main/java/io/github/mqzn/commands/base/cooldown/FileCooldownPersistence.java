@@ -0,0 +1,440 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the cooldowns in a local file, as a log of the cooldowns started and reset.
+ * <p>
+ * The threads executing the commands only queue the changes,
+ * a background thread loads the file when the persistence is created,
+ * appends the queued changes to it through a {@link FileChannel}, and periodically compacts it
+ * by rewriting the cooldowns that didn't end yet into a new file replacing the old one.
+ * The file is never mapped, so it can be replaced once its channel is closed on every platform.
+ * <p>
+ * Cooldowns shorter than the minimum duration aren't worth surviving a restart, so they're not stored.
+ */
+public final class FileCooldownPersistence implements CooldownPersistence {
+
+	public final static long DEFAULT_MINIMUM_DURATION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	public final static long DEFAULT_COMPACTION_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+	private final static int MAGIC = 0x6D434344, VERSION = 1;
+
+	private final static int HEADER_BYTES = 8;
+
+	private final static int INITIAL_BATCH_CAPACITY = 1 << 12;
+
+	private final static long WRITE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	public final static long FLUSH_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+	// the operation of a record, anything else marks the end of the log
+	private final static byte SAVE = 1, REMOVE = 2;
+
+	@NotNull
+	private final Path file;
+
+	private final long minimumDuration;
+
+	private final long compactionInterval;
+
+	@NotNull
+	private final Logger logger;
+
+	@NotNull
+	private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+
+	// completed by the writer once the file is read
+	@NotNull
+	private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+	// the flushes waiting for the next drain of the changes
+	@NotNull
+	private final Queue<CompletableFuture<Void>> flushes = new ConcurrentLinkedQueue<>();
+
+	@NotNull
+	private final Thread writer;
+
+	// the cooldowns stored, only used by the writer thread
+	@NotNull
+	private final Map<String, Map<String, long[]>> entries = new HashMap<>();
+
+	// the cooldowns loaded, kept until they're visited
+	@Nullable
+	private volatile List<Change> snapshot;
+
+	@Nullable
+	private FileChannel channel;
+
+	// the records encoded before they're appended, reused between the writes
+	@NotNull
+	private ByteBuffer batch = ByteBuffer.allocate(INITIAL_BATCH_CAPACITY);
+
+	// the number of records in the log, and how many of them are still the latest for their cooldown
+	private int records, live;
+
+	private long nextCompaction;
+
+	private volatile boolean running = true;
+
+	/**
+	 * Creates the persistence, the file is loaded in the background
+	 *
+	 * @param file               the file to store the cooldowns in, created if it doesn't exist
+	 * @param minimumDuration    the shortest cooldown to store in milliseconds
+	 * @param compactionInterval the interval between the compactions of the file in milliseconds
+	 * @param logger             the logger the failures are reported to, e.g: the one of the manager
+	 */
+	public FileCooldownPersistence(@NotNull Path file, long minimumDuration, long compactionInterval, @NotNull Logger logger) {
+		this.file = file;
+		this.minimumDuration = minimumDuration;
+		this.compactionInterval = compactionInterval;
+		this.logger = logger;
+
+		this.writer = new Thread(this::writeLoop, "mCommands-cooldown-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	public FileCooldownPersistence(@NotNull Path file, @NotNull Logger logger) {
+		this(file, DEFAULT_MINIMUM_DURATION_MILLIS, DEFAULT_COMPACTION_INTERVAL_MILLIS, logger);
+	}
+
+	/**
+	 * Visits the cooldowns loaded on the writer thread once the file is read,
+	 * or right away if it's read already, only the first load visits them
+	 */
+	@Override
+	public @NotNull CompletableFuture<Void> load(@NotNull Visitor visitor) {
+		return loaded.thenRun(() -> {
+			List<Change> snapshot = this.snapshot;
+			this.snapshot = null;
+			if (snapshot == null) return;
+
+			for (Change change : snapshot)
+				visitor.visit(change.command, change.sender, change.lastUse, change.duration);
+		});
+	}
+
+	@Override
+	public void save(@NotNull String command, @NotNull String sender, long lastUse, long duration) {
+		if (duration < minimumDuration || !running) return;
+		changes.offer(new Change(SAVE, command, sender, lastUse, duration));
+	}
+
+	@Override
+	public void remove(@NotNull String command, @NotNull String sender) {
+		if (!running) return;
+		changes.offer(new Change(REMOVE, command, sender, 0, 0));
+	}
+
+	/**
+	 * Wakes the writer up and waits until it wrote the changes queued so far,
+	 * at most {@link #FLUSH_TIMEOUT_MILLIS}, nothing is waited once the writer stopped
+	 */
+	@Override
+	public void flush() {
+		if (!writer.isAlive()) return;
+
+		CompletableFuture<Void> flushed = new CompletableFuture<>();
+		flushes.offer(flushed);
+		LockSupport.unpark(writer);
+
+		try {
+			flushed.get(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			logger.log(Level.WARNING, "The cooldowns couldn't be flushed to '" + file + "'", e);
+		}
+
+	}
+
+	/**
+	 * Stops accepting changes, writes the ones queued so far and closes the file
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(writer);
+
+		try {
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+	}
+
+	private void writeLoop() {
+		try {
+			try {
+				read();
+			} finally {
+				loaded.complete(null);
+			}
+
+			// dropping the records of the cooldowns ended and a torn tail left by a crash
+			compact();
+
+			while (running) {
+				LockSupport.parkNanos(this, WRITE_INTERVAL_NANOS);
+				drain();
+			}
+
+			drain();
+		} catch (IOException | RuntimeException ex) {
+			running = false;
+			logger.log(Level.SEVERE, "The cooldowns stopped being stored in '" + file + "'", ex);
+
+			CompletableFuture<Void> flushed;
+			while ((flushed = flushes.poll()) != null)
+				flushed.completeExceptionally(ex);
+		} finally {
+			closeChannel();
+
+			// a flush racing with the end of the writer has nothing left to wait for
+			CompletableFuture<Void> flushed;
+			while ((flushed = flushes.poll()) != null)
+				flushed.complete(null);
+		}
+
+	}
+
+	// writes the changes queued, then releases the flushes requested before them
+	private void drain() throws IOException {
+		if (flushes.isEmpty()) {
+			write();
+			return;
+		}
+
+		List<CompletableFuture<Void>> requested = new ArrayList<>();
+		CompletableFuture<Void> flushed;
+		while ((flushed = flushes.poll()) != null)
+			requested.add(flushed);
+
+		write();
+
+		for (CompletableFuture<Void> request : requested)
+			request.complete(null);
+	}
+
+	private void read() throws IOException {
+		if (!Files.exists(file)) {
+			snapshot = List.of();
+			return;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+			throw new IOException("The file '" + file + "' doesn't store cooldowns !");
+
+		buffer.position(HEADER_BYTES);
+		Change change;
+		while ((change = readChange(buffer)) != null)
+			apply(change);
+
+		final long now = System.currentTimeMillis();
+		List<Change> snapshot = new ArrayList<>(live);
+		for (var commandEntry : entries.entrySet())
+			for (var senderEntry : commandEntry.getValue().entrySet()) {
+				long[] cooldown = senderEntry.getValue();
+				if (cooldown[0] + cooldown[1] >= now)
+					snapshot.add(new Change(SAVE, commandEntry.getKey(), senderEntry.getKey(), cooldown[0], cooldown[1]));
+			}
+
+		this.snapshot = snapshot;
+	}
+
+	// null at the end of the log, or at a record torn by a crash
+	@Nullable
+	private static Change readChange(@NotNull ByteBuffer buffer) {
+		if (buffer.remaining() < 1) return null;
+
+		final int start = buffer.position();
+		final byte operation = buffer.get();
+		if (operation != SAVE && operation != REMOVE) return null;
+
+		String command = readString(buffer);
+		String sender = command == null ? null : readString(buffer);
+		if (sender == null || (operation == SAVE && buffer.remaining() < 16)) {
+			buffer.position(start);
+			return null;
+		}
+
+		return operation == SAVE
+						? new Change(SAVE, command, sender, buffer.getLong(), buffer.getLong())
+						: new Change(REMOVE, command, sender, 0, 0);
+	}
+
+	@Nullable
+	private static String readString(@NotNull ByteBuffer buffer) {
+		if (buffer.remaining() < 2) return null;
+
+		int length = Short.toUnsignedInt(buffer.getShort());
+		if (buffer.remaining() < length) return null;
+
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	// applies a change to the entries, counting the records it leaves dead
+	private void apply(@NotNull Change change) {
+		records++;
+
+		if (change.operation == SAVE) {
+			long[] previous = entries.computeIfAbsent(change.command, (k) -> new HashMap<>())
+							.put(change.sender, new long[]{change.lastUse, change.duration});
+
+			if (previous == null) live++;
+			return;
+		}
+
+		Map<String, long[]> senders = entries.get(change.command);
+		if (senders != null && senders.remove(change.sender) != null) live--;
+	}
+
+	private void write() throws IOException {
+		final FileChannel channel = channel();
+
+		Change change;
+		batch.clear();
+
+		while ((change = changes.poll()) != null) {
+			byte[] command = change.command.getBytes(StandardCharsets.UTF_8);
+			byte[] sender = change.sender.getBytes(StandardCharsets.UTF_8);
+			if (command.length > 0xFFFF || sender.length > 0xFFFF) continue;
+
+			apply(change);
+			put(change.operation, command, sender, change.lastUse, change.duration);
+		}
+
+		if (batch.position() > 0) {
+			batch.flip();
+			while (batch.hasRemaining())
+				channel.write(batch);
+
+			channel.force(false);
+		}
+
+		// the log is compacted once the dead records outnumber the live ones
+		if (System.currentTimeMillis() >= nextCompaction && records > live * 2)
+			compact();
+	}
+
+	// encodes a record at the end of the batch, growing it when there's no room left
+	private void put(byte operation, @NotNull byte[] command, @NotNull byte[] sender, long lastUse, long duration) {
+		int size = 1 + 2 + command.length + 2 + sender.length + (operation == SAVE ? 16 : 0);
+		if (batch.remaining() < size) {
+			ByteBuffer grown = ByteBuffer.allocate(Math.max(batch.capacity() * 2, batch.position() + size));
+			batch.flip();
+			batch = grown.put(batch);
+		}
+
+		batch.put(operation)
+						.putShort((short) command.length).put(command)
+						.putShort((short) sender.length).put(sender);
+
+		if (operation == SAVE)
+			batch.putLong(lastUse).putLong(duration);
+	}
+
+	// rewrites the cooldowns that didn't end yet into a new file, then swaps it with the current one
+	private void compact() throws IOException {
+		final long now = System.currentTimeMillis();
+		final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+		int count = 0;
+		batch.clear();
+		batch.putInt(MAGIC).putInt(VERSION);
+
+		Iterator<Map.Entry<String, Map<String, long[]>>> commands = entries.entrySet().iterator();
+		while (commands.hasNext()) {
+			var commandEntry = commands.next();
+			commandEntry.getValue().values().removeIf((cooldown) -> cooldown[0] + cooldown[1] < now);
+			if (commandEntry.getValue().isEmpty()) {
+				commands.remove();
+				continue;
+			}
+
+			byte[] command = commandEntry.getKey().getBytes(StandardCharsets.UTF_8);
+			for (var senderEntry : commandEntry.getValue().entrySet()) {
+				long[] cooldown = senderEntry.getValue();
+				put(SAVE, command, senderEntry.getKey().getBytes(StandardCharsets.UTF_8), cooldown[0], cooldown[1]);
+				count++;
+			}
+
+		}
+
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			batch.flip();
+			while (batch.hasRemaining())
+				channel.write(batch);
+
+			channel.force(true);
+		}
+
+		// the current file is only ever open through its channel, closing it lets it be replaced
+		closeChannel();
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		this.records = this.live = count;
+		this.nextCompaction = now + compactionInterval;
+		this.channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	@NotNull
+	private FileChannel channel() throws IOException {
+		if (channel == null) compact();
+
+		assert channel != null;
+		return channel;
+	}
+
+	private void closeChannel() {
+		if (channel == null) return;
+
+		try {
+			channel.close();
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Couldn't close the cooldowns file '" + file + "'", e);
+		}
+
+		channel = null;
+	}
+
+	private record Change(byte operation,
+	                      @NotNull String command,
+	                      @NotNull String sender,
+	                      long lastUse,
+	                      long duration) {
+	}
+
+}
@@ -0,0 +1,298 @@
+package io.github.mqzn.commands.base.cooldown;
+
+import io.github.mqzn.commands.base.Command;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free store of the permits left for each sender of each rate limited command,
+ * the whole state of a key is one primitive long updated by compare-and-set,
+ * so checking a rate limit neither locks nor allocates once the key exists.
+ * <p>
+ * The {@link CommandRateLimit.Algorithm#TOKEN_BUCKET} keeps the theoretical arrival time of the next permit (GCRA),
+ * the {@link CommandRateLimit.Algorithm#SLIDING_WINDOW} packs the index of the current window
+ * with the counts of uses of the previous window and the current one.
+ * <p>
+ * The times are measured in nanoseconds using {@link System#nanoTime()},
+ * idle keys are evicted by a sweep that runs at most once per {@link CooldownStore#SWEEP_INTERVAL_MILLIS}
+ * piggybacking on the calls to {@link #tryAcquire(Command, String)}
+ *
+ * @see CommandRateLimit
+ */
+public final class RateLimitStore {
+
+	// marks an entry that is being evicted, a packed sliding window always has a use counted, so it's never this value
+	private final static long EVICTED = Long.MIN_VALUE;
+
+	private final static long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(CooldownStore.SWEEP_INTERVAL_MILLIS);
+
+	private final static long COUNT_MASK = 0xFFFFL;
+
+	// the times are relative to the creation of the store, so they're never negative
+	private final long origin = System.nanoTime();
+
+	@NotNull
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+	@NotNull
+	private final AtomicLong nextSweep = new AtomicLong();
+
+	private static long pack(int window, long previous, long current) {
+		return ((long) window << 32) | (previous << 16) | current;
+	}
+
+	/**
+	 * Tries to take a permit of the command for the sender
+	 *
+	 * @param command the command used
+	 * @param sender  the identity of the sender, e.g: his name
+	 * @return zero if the sender is allowed to use the command (and a permit is taken),
+	 * otherwise the time until a permit is available in nanoseconds
+	 */
+	public long tryAcquire(@NotNull Command<?> command, @NotNull String sender) {
+		final CommandRateLimit limit = command.rateLimit();
+		if (limit.isEmpty()) return 0;
+
+		final long now = now();
+		final Bucket bucket = bucket(command.name(), limit);
+
+		sweepIfDue(now);
+		return acquire(bucket, sender, now, true);
+	}
+
+	/**
+	 * The time until a permit of the command is available for the sender,
+	 * without taking it
+	 *
+	 * @param command the command
+	 * @param sender  the identity of the sender
+	 * @return the time in nanoseconds, zero if a permit is available
+	 */
+	public long remaining(@NotNull Command<?> command, @NotNull String sender) {
+		final CommandRateLimit limit = command.rateLimit();
+		if (limit.isEmpty()) return 0;
+
+		Bucket bucket = buckets.get(command.name());
+		if (bucket == null || !bucket.limit.equals(limit)) return 0;
+
+		return acquire(bucket, sender, now(), false);
+	}
+
+	/**
+	 * Gives back one permit of the command taken by the sender,
+	 * e.g: when the call that took it was halted afterwards
+	 *
+	 * @param command the command
+	 * @param sender  the identity of the sender
+	 */
+	public void refund(@NotNull Command<?> command, @NotNull String sender) {
+		Bucket bucket = buckets.get(command.name());
+		if (bucket == null || !bucket.limit.equals(command.rateLimit())) return;
+
+		final CommandRateLimit limit = bucket.limit;
+		final AtomicLong state = limit.scope() == CommandRateLimit.Scope.GLOBAL ? bucket.global : bucket.states.get(sender);
+		if (state == null) return;
+
+		while (true) {
+			long current = state.get();
+			if (current == EVICTED) return;
+
+			long next;
+			if (limit.algorithm() == CommandRateLimit.Algorithm.TOKEN_BUCKET) {
+				// the arrival of the next permit moves back by the interval it was pushed by
+				next = Math.max(0, current - limit.intervalNanos());
+			} else {
+				// the use is removed from the window it was counted in
+				if ((current & COUNT_MASK) == 0) return;
+				next = current - 1;
+			}
+
+			if (state.compareAndSet(current, next)) return;
+		}
+
+	}
+
+	/**
+	 * Gives back all the permits of the command for the sender,
+	 * or for everyone if the command is rate limited globally
+	 *
+	 * @param command the command
+	 * @param sender  the identity of the sender
+	 */
+	public void reset(@NotNull Command<?> command, @NotNull String sender) {
+		Bucket bucket = buckets.get(command.name());
+		if (bucket == null) return;
+
+		if (bucket.limit.scope() == CommandRateLimit.Scope.GLOBAL)
+			bucket.global.set(0);
+		else
+			bucket.states.remove(sender);
+	}
+
+	/**
+	 * Evicts every entry that got all it's permits back
+	 *
+	 * @return the number of entries evicted
+	 */
+	public int purgeExpired() {
+		return purgeExpired(now());
+	}
+
+	/**
+	 * The number of (command, sender) entries stored
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for (Bucket bucket : buckets.values())
+			size += bucket.states.size();
+
+		return size;
+	}
+
+	private long now() {
+		return System.nanoTime() - origin;
+	}
+
+	private long acquire(@NotNull Bucket bucket, @NotNull String sender, long now, boolean take) {
+		final CommandRateLimit limit = bucket.limit;
+
+		while (true) {
+			AtomicLong state = state(bucket, sender);
+			long current = state.get();
+			if (current == EVICTED) {
+				bucket.states.remove(sender, state);
+				continue;
+			}
+
+			long wait;
+			long next;
+			if (limit.algorithm() == CommandRateLimit.Algorithm.TOKEN_BUCKET) {
+				final long interval = limit.intervalNanos();
+				// a full bucket holds all the permits of the window
+				final long arrival = Math.max(current, now);
+
+				wait = arrival - now - (limit.windowNanos() - interval);
+				next = arrival + interval;
+			} else {
+				final long window = limit.windowNanos();
+				final int index = (int) (now / window);
+				final long elapsed = now % window;
+
+				long previous = 0, used = 0;
+				int passed = index - (int) (current >>> 32);
+				if (passed == 0) {
+					previous = (current >>> 16) & COUNT_MASK;
+					used = current & COUNT_MASK;
+				} else if (passed == 1) {
+					previous = current & COUNT_MASK;
+				}
+
+				wait = slidingWait(limit.permits(), window, elapsed, previous, used);
+				next = pack(index, previous, used + 1);
+			}
+
+			if (wait > 0) return wait;
+			if (!take || state.compareAndSet(current, next)) return 0;
+		}
+
+	}
+
+	// the uses of the previous window count as much as it still overlaps the sliding window
+	private static long slidingWait(int permits, long window, long elapsed, long previous, long used) {
+		final long remaining = window - elapsed;
+		if (previous * (double) remaining / window + used + 1 <= permits) return 0;
+
+		// in the next window the uses of this one become the previous ones
+		if (used >= permits)
+			return Math.max(1, remaining + (long) Math.ceil(window * (1 - (permits - 1) / (double) used)));
+
+		long until = (long) Math.ceil(window * (1 - (permits - used - 1) / (double) previous));
+		return Math.max(1, until - elapsed);
+	}
+
+	@NotNull
+	private AtomicLong state(@NotNull Bucket bucket, @NotNull String sender) {
+		if (bucket.limit.scope() == CommandRateLimit.Scope.GLOBAL) return bucket.global;
+
+		AtomicLong state = bucket.states.get(sender);
+		if (state == null)
+			state = bucket.states.computeIfAbsent(sender, (k) -> new AtomicLong());
+
+		return state;
+	}
+
+	@NotNull
+	private Bucket bucket(@NotNull String command, @NotNull CommandRateLimit limit) {
+		Bucket bucket = buckets.get(command);
+		if (bucket != null && bucket.limit.equals(limit)) return bucket;
+
+		// the states of another limit mean nothing to this one
+		return buckets.compute(command, (k, old) -> old != null && old.limit.equals(limit) ? old : new Bucket(limit));
+	}
+
+	private void sweepIfDue(long now) {
+		long due = nextSweep.get();
+		if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) return;
+
+		purgeExpired(now);
+	}
+
+	private int purgeExpired(long now) {
+		int evicted = 0;
+
+		for (Bucket bucket : buckets.values()) {
+			final CommandRateLimit limit = bucket.limit;
+			Iterator<Map.Entry<String, AtomicLong>> iterator = bucket.states.entrySet().iterator();
+
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+				AtomicLong state = entry.getValue();
+				long current = state.get();
+
+				// claiming the entry first, so a concurrent use of it isn't lost
+				if (current != EVICTED && isIdle(limit, current, now) && state.compareAndSet(current, EVICTED)) {
+					bucket.states.remove(entry.getKey(), state);
+					evicted++;
+				}
+
+			}
+
+		}
+
+		return evicted;
+	}
+
+	private static boolean isIdle(@NotNull CommandRateLimit limit, long state, long now) {
+		if (limit.algorithm() == CommandRateLimit.Algorithm.TOKEN_BUCKET)
+			return state <= now;
+
+		// neither the current window nor the previous one has uses
+		return (int) (now / limit.windowNanos()) - (int) (state >>> 32) > 1;
+	}
+
+	private final static class Bucket {
+
+		@NotNull
+		private final CommandRateLimit limit;
+
+		@NotNull
+		private final Map<String, AtomicLong> states = new ConcurrentHashMap<>();
+
+		// the state shared by all the senders when the scope is global
+		@NotNull
+		private final AtomicLong global = new AtomicLong();
+
+		private Bucket(@NotNull CommandRateLimit limit) {
+			this.limit = limit;
+		}
+
+	}
+
+}
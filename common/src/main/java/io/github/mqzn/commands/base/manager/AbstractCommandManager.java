@@ -3,28 +3,41 @@ package io.github.mqzn.commands.base.manager;
 import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.arguments.ArgumentLiteral;
 import io.github.mqzn.commands.base.Command;
-import io.github.mqzn.commands.base.CommandRequirement;
+import io.github.mqzn.commands.base.audit.AuditSink;
+import io.github.mqzn.commands.base.audit.LoggerAuditSink;
+import io.github.mqzn.commands.base.audit.RotatingFileAuditSink;
 import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.caption.CaptionRegistry;
-import io.github.mqzn.commands.base.context.CommandContext;
 import io.github.mqzn.commands.base.context.Context;
+import io.github.mqzn.commands.base.context.ContextPool;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
-import io.github.mqzn.commands.base.cooldown.CommandCooldown;
-import io.github.mqzn.commands.base.cooldown.CooldownCaption;
+import io.github.mqzn.commands.base.cooldown.CooldownPersistence;
+import io.github.mqzn.commands.base.cooldown.CooldownStore;
+import io.github.mqzn.commands.base.cooldown.RateLimitStore;
 import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
+import io.github.mqzn.commands.base.metrics.MetricsRegistry;
+import io.github.mqzn.commands.base.pipeline.ExecutionPipeline;
+import io.github.mqzn.commands.base.pipeline.ExecutionStage;
+import io.github.mqzn.commands.base.suggestion.SuggestionCache;
+import io.github.mqzn.commands.base.suggestion.SuggestionCollector;
+import io.github.mqzn.commands.base.suggestion.SuggestionContext;
+import io.github.mqzn.commands.base.suggestion.SuggestionProvider;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.exceptions.CommandExceptionHandler;
-import io.github.mqzn.commands.exceptions.UnknownCommandSenderType;
 import io.github.mqzn.commands.exceptions.types.SyntaxAmbiguityException;
 import io.github.mqzn.commands.help.CommandHelpProvider;
 import io.github.mqzn.commands.help.CommandSyntaxPageDisplayer;
 import io.github.mqzn.commands.sender.SenderWrapper;
-import io.github.mqzn.commands.utilities.TimeParser;
 import io.github.mqzn.commands.utilities.text.PaginatedText;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -38,6 +51,9 @@ import java.util.logging.Logger;
  */
 public abstract class AbstractCommandManager<P, S> implements CommandManager<P, S> {
 
+	@NotNull
+	public final static Duration DEFAULT_SUGGESTION_TIMEOUT = Duration.ZERO;
+
 	protected final Logger logger = Logger.getLogger("CommandManager-Logger");
 
 	protected final P plugin;
@@ -57,24 +73,52 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 	@NotNull
 	private final CommandExecutionCoordinator<S> coordinator;
 
+	@NotNull
+	private final ExecutionPipeline<S> pipeline;
+
+	@NotNull
+	private final MetricsRegistry<S> metrics;
+
+	@NotNull
+	private volatile AuditSink auditSink = new LoggerAuditSink(logger);
+
 	@NotNull
 	private final Map<String, Command<S>> commands;
 
+	@NotNull
+	private final CommandAliasIndex<S> aliasIndex;
+
 	@NotNull
 	private final ArgumentTypeRegistry typeRegistry;
 
 	@NotNull
 	private final FlagRegistry flagRegistry;
-	private final Map<String, Long> cooldowns = new HashMap<>();
+
+	@NotNull
+	private final CooldownStore cooldownStore = new CooldownStore();
+
+	@NotNull
+	private final RateLimitStore rateLimitStore = new RateLimitStore();
+
+	@NotNull
+	private final SuggestionCache suggestionCache = new SuggestionCache();
+
+	private volatile long suggestionTimeout = DEFAULT_SUGGESTION_TIMEOUT.toNanos();
+
 	@Nullable
 	private CommandHelpProvider commandHelpProvider;
 
-	public AbstractCommandManager(@NotNull P plugin,
-	                              @NotNull SenderWrapper<S> wrapper, @NotNull CommandExecutionCoordinator.Type coordinator) {
+	private AbstractCommandManager(@NotNull P plugin,
+	                               @NotNull SenderWrapper<S> wrapper,
+	                               @NotNull Function<CommandManager<P, S>, CommandExecutionCoordinator<S>> coordinatorCreator) {
 		this.plugin = plugin;
 		this.wrapper = wrapper;
-		this.commands = new HashMap<>();
-		this.coordinator = coordinator == CommandExecutionCoordinator.Type.ASYNC ? CommandExecutionCoordinator.async(this) : CommandExecutionCoordinator.sync(this);
+		this.commands = new ConcurrentHashMap<>();
+		this.aliasIndex = new CommandAliasIndex<>();
+		this.coordinator = coordinatorCreator.apply(this);
+		this.pipeline = new ExecutionPipeline<>(this);
+		this.metrics = new MetricsRegistry<>(this);
+		this.pipeline.intercept(ExecutionStage.POST_PROCESS, metrics);
 		this.typeRegistry = new ArgumentTypeRegistry();
 		try {
 			this.flagRegistry = FlagRegistry.create();
@@ -86,6 +130,55 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 		this.exceptionHandler = new CommandExceptionHandler<>(this);
 	}
 
+	public AbstractCommandManager(@NotNull P plugin,
+	                              @NotNull SenderWrapper<S> wrapper, @NotNull CommandExecutionCoordinator.Type coordinator) {
+		this(plugin, wrapper, (CommandManager<P, S> manager) -> CommandExecutionCoordinator.of(manager, coordinator));
+	}
+
+	/**
+	 * Creates a manager that executes the commands asynchronously
+	 * on the executor supplied
+	 *
+	 * @param plugin   the bootstrap
+	 * @param wrapper  the sender wrapper
+	 * @param executor the executor to run the commands on
+	 */
+	public AbstractCommandManager(@NotNull P plugin,
+	                              @NotNull SenderWrapper<S> wrapper, @NotNull Executor executor) {
+		this(plugin, wrapper, (CommandManager<P, S> manager) -> CommandExecutionCoordinator.async(manager, executor));
+	}
+
+	/**
+	 * Creates a manager that executes the commands on a bounded pool of platform threads,
+	 * see {@link CommandExecutionCoordinator#bounded(CommandManager, int, int)}
+	 *
+	 * @param plugin        the bootstrap
+	 * @param wrapper       the sender wrapper
+	 * @param threads       the number of threads in the pool
+	 * @param queueCapacity the maximum number of commands waiting for a thread
+	 */
+	public AbstractCommandManager(@NotNull P plugin,
+	                              @NotNull SenderWrapper<S> wrapper, int threads, int queueCapacity) {
+		this(plugin, wrapper, (CommandManager<P, S> manager) -> CommandExecutionCoordinator.bounded(manager, threads, queueCapacity));
+	}
+
+	/**
+	 * Creates a manager that executes the commands on the executor supplied,
+	 * either {@link CommandExecutionCoordinator.Type#ASYNC} or in the per-sender lanes
+	 * of {@link CommandExecutionCoordinator.Type#PER_SENDER}
+	 *
+	 * @param plugin      the bootstrap
+	 * @param wrapper     the sender wrapper
+	 * @param coordinator the type of the coordinator
+	 * @param executor    the executor to run the commands on, owned by the caller
+	 * @throws IllegalArgumentException if the coordinator can't run on an executor supplied
+	 */
+	public AbstractCommandManager(@NotNull P plugin,
+	                              @NotNull SenderWrapper<S> wrapper,
+	                              @NotNull CommandExecutionCoordinator.Type coordinator, @NotNull Executor executor) {
+		this(plugin, wrapper, (CommandManager<P, S> manager) -> CommandExecutionCoordinator.of(manager, coordinator, executor));
+	}
+
 	public AbstractCommandManager(@NotNull P plugin, @NotNull SenderWrapper<S> wrapper) {
 		this(plugin, wrapper, CommandExecutionCoordinator.Type.SYNC);
 	}
@@ -100,6 +193,50 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 		return typeRegistry;
 	}
 
+	@Override
+	public @NotNull CommandExecutionCoordinator<S> coordinator() {
+		return coordinator;
+	}
+
+	@Override
+	public void shutdown() {
+		coordinator.shutdown();
+
+		// writes the cooldowns queued and releases the file, the writer is a daemon that would drop them
+		final CooldownPersistence persistence = cooldownStore.persistence();
+		if (persistence != null) persistence.close();
+	}
+
+	@Override
+	public @NotNull ExecutionPipeline<S> pipeline() {
+		return pipeline;
+	}
+
+	@Override
+	public @NotNull MetricsRegistry<S> metrics() {
+		return metrics;
+	}
+
+	@Override
+	public @NotNull AuditSink auditSink() {
+		return auditSink;
+	}
+
+	@Override
+	public @NotNull Logger logger() {
+		return logger;
+	}
+
+	/**
+	 * Sets the sink of the audit records of the commands executed,
+	 * the previous sink isn't closed, since it may be shared
+	 *
+	 * @param auditSink the sink, e.g: {@link RotatingFileAuditSink#async(Path, long, int, Level, Logger)}
+	 */
+	public void auditSink(@NotNull AuditSink auditSink) {
+		this.auditSink = auditSink;
+	}
+
 	@Override
 	public @NotNull CommandExceptionHandler<S> exceptionHandler() {
 		return exceptionHandler;
@@ -138,109 +275,19 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public final <C> void executeCommand(
 					final @NotNull Command<S> command,
 					final @NotNull S sender,
 					final @NotNull String[] args
 	) {
-
-		DelegateCommandContext<S> context = DelegateCommandContext.create(this, command, sender, args);
-
-		if (!checkRequirements(command, sender, context)) return;
-
-		if (command.hasCooldown()) {
-			CommandCooldown cooldown = command.cooldown();
-			String senderName = wrapper.senderName(sender);
-			Long lastTimeCommandExecuted = cooldowns.get(wrapper.senderName(sender));
-
-			if (lastTimeCommandExecuted == null || cooldownExpired(lastTimeCommandExecuted, cooldown)) {
-				cooldowns.put(senderName, System.currentTimeMillis());
-			} else {
-				//send a caption telling the user that he's in a cool down
-
-				//calculating remaining time
-				TimeParser parser = TimeParser.parse(calculateRemainingTime(lastTimeCommandExecuted, cooldown));
-				captionRegistry.sendCaption(sender, context, null, new CooldownCaption<>(parser));
-				return;
-			}
-
-		}
-
-		if (args.length == 0) {
-			command.defaultExecution(sender, context);
-			return;
-		}
-
-		CommandSyntax<S> syntax = findSyntax(command, context);
-		if (syntax == null) {
-			captionRegistry.sendCaption(sender, context, CaptionKey.UNKNOWN_COMMAND);
-			return;
-		}
-
-		//log("Found syntax : " + syntaxUsed.formatted());
-		CommandContext<S> commandContext = CommandContext.create(this, syntax, context);
-		commandContext.parse();
-
-		if (this.wrapper.canBeSender(syntax.getSenderClass())) {
-
-			coordinator.coordinateExecution(sender, syntax, commandContext)
-							.whenComplete((result, ex) -> log("%s has executed the command '%s'", wrapper.senderName(sender), commandContext.rawFormat()));
-
-			return;
-		}
-		//custom sender detected
-		//fetching custom sender type
-		C customSender = (C) senderProviderRegistry.provideSender(sender, syntax.getSenderClass());
-
-		//checking if custom sender is null, if so then it failed to find its type, so throwing an exception
-		if (customSender == null) {
-			throw new UnknownCommandSenderType(syntax.getSenderClass());
-		}
-
-		coordinator.coordinateExecution(customSender, syntax, commandContext)
-						.whenComplete((result, ex) -> log("%s has executed the command '%s'", wrapper.senderName(sender), commandContext.rawFormat()));
-
+		pipeline.execute(command, sender, args);
 	}
 
 
 	@Override
 	public @Nullable CommandSyntax<S> findSyntax(final @NotNull Command<S> command,
 	                                             final @NotNull DelegateCommandContext<S> commandContext) {
-
-		for (CommandSyntax<S> syntax : command.syntaxes())
-			if (syntax.matchesContext(commandContext)) return syntax;
-
-		return null;
-	}
-
-	private boolean cooldownExpired(@NotNull Long lastTime, @NotNull CommandCooldown cooldown) {
-		return System.currentTimeMillis() > lastTime + cooldown.toMillis();
-	}
-
-	private long calculateRemainingTime(@NotNull Long lastTime, @NotNull CommandCooldown commandCooldown) {
-		long diff = (System.currentTimeMillis() - lastTime);
-
-		return commandCooldown.toMillis() - diff;
-	}
-
-	private boolean checkRequirements(final @NotNull Command<S> command,
-	                                  final @NotNull S sender,
-	                                  final @NotNull Context<S> commandContext) {
-
-		for (CommandRequirement<S> requirement : command.requirements()) {
-
-			if (!requirement.accepts(sender, commandContext)) {
-				CaptionKey key = requirement.caption();
-				if (key != null)
-					this.captionRegistry.sendCaption(sender, commandContext, key);
-
-				return false;
-			}
-
-		}
-
-		return true;
+		return command.syntaxTree().find(commandContext);
 	}
 
 	@Override
@@ -264,28 +311,27 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 
 		}
 
-		commands.put(command.name(), command);
+		Command<S> previous = commands.put(command.name(), command);
+		if (previous != null) aliasIndex.remove(previous);
+
+		for (var conflict : aliasIndex.add(command))
+			logger.warning("Alias conflict detected: " + conflict);
 	}
 
 	@Override
 	public void unregisterCommand(String name) {
-		commands.remove(name);
+		Command<S> removed = commands.remove(name);
+		if (removed != null) aliasIndex.remove(removed);
 	}
 
 	@Override
 	public @Nullable Command<S> getCommand(String name) {
-		var cmd = commands.get(name);
-		if (cmd != null) return cmd;
-
-		for (var otherCmd : getCommands()) {
-			var otherNames = otherCmd.info().aliases();
-
-			for (String aliases : otherNames)
-				if (name.equalsIgnoreCase(aliases)) return otherCmd;
-
-		}
+		return aliasIndex.get(name);
+	}
 
-		return null;
+	@Override
+	public @NotNull List<CommandAliasIndex.AliasConflict> aliasConflicts() {
+		return aliasIndex.conflicts();
 	}
 
 	@Override
@@ -293,6 +339,16 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 		return commands.values();
 	}
 
+	@Override
+	public @NotNull CooldownStore cooldownStore() {
+		return cooldownStore;
+	}
+
+	@Override
+	public @NotNull RateLimitStore rateLimitStore() {
+		return rateLimitStore;
+	}
+
 	@Override
 	public @NotNull FlagRegistry flagRegistry() {
 		return flagRegistry;
@@ -308,60 +364,173 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 		return senderProviderRegistry;
 	}
 
+	@Override
+	public @NotNull SuggestionCache suggestionCache() {
+		return suggestionCache;
+	}
+
+	/**
+	 * Recycles the storage of the contexts of the commands executed instead of creating it for each execution,
+	 * see {@link ContextPool} for the restrictions on the recycled contexts.
+	 * Only the {@link CommandExecutionCoordinator.Type#SYNC} coordinator can recycle them,
+	 * since the context must not outlive the call to {@link #executeCommand(Command, Object, String[])}
+	 *
+	 * @param recycle whether to recycle the contexts
+	 * @throws IllegalStateException if the coordinator isn't synchronous
+	 */
+	public void recycleContexts(boolean recycle) {
+		if (recycle && coordinator.type() != CommandExecutionCoordinator.Type.SYNC)
+			throw new IllegalStateException("Only a manager using the SYNC coordinator can recycle the command contexts !");
+
+		pipeline.contextPool(recycle ? new ContextPool<>(this) : null);
+	}
+
+	/**
+	 * Sets the longest time a tab-completion waits for the {@link SuggestionProvider}s,
+	 * the suggestions that arrive later are cached and used by the next tab-completion.
+	 * A zero timeout never waits, so only the suggestions ready are used,
+	 * it's the default since the platforms complete the tabs on their main thread,
+	 * only wait when the tab-completions are known to run off the main thread.
+	 *
+	 * @param timeout the timeout of each tab-completion
+	 */
+	public void suggestionTimeout(@NotNull Duration timeout) {
+		this.suggestionTimeout = timeout.toNanos();
+	}
+
+	/**
+	 * Suggests the completions of the last argument typed (the current token),
+	 * only the completions starting with it are suggested, without duplicates
+	 * and with at most {@link SuggestionCollector#DEFAULT_LIMIT} of them.
+	 * <p>
+	 * The suggestions of the {@link SuggestionProvider}s are merged after the static ones,
+	 * waiting for them until the suggestion timeout passes
+	 *
+	 * @param command the command being typed
+	 * @param sender  the sender typing it
+	 * @param args    the arguments typed, the last one is the current token
+	 * @return the ranked completions of the current token
+	 */
 	@Override
 	public @NotNull List<String> suggest(Command<S> command, S sender, String[] args) {
-		List<String> completions = new ArrayList<>();
+		if (args.length == 0) args = new String[]{""};
+
+		final String prefix = args[args.length - 1];
+		final boolean[] flagArguments = ContextFlagRegistry.classifyFlags(args);
+		final SuggestionCollector collector = new SuggestionCollector();
 
+		List<Argument<?>> provided = null;
 		for (var syntax : command.syntaxes()) {
+			if (collector.isFull()) break;
+
 			var info = syntax.getInfo();
 			String permission = info == null ? null : info.permission();
 
-			if (args.length >= syntax.withoutFlagsOrOptionalArgumentsLength()
-							&& args.length <= syntax.length()
-							&& wrapper.hasPermission(sender, permission)) {
+			if (!wrapper.hasPermission(sender, permission)) continue;
 
-				completions.addAll(collectSuggestions(syntax, args));
+			Argument<?> current = collectSuggestions(syntax, args, flagArguments, prefix, collector);
+			if (current != null && current.suggestionProvider() != null) {
+				if (provided == null) provided = new ArrayList<>(2);
+				if (!provided.contains(current)) provided.add(current);
 			}
 
 		}
 
-		return completions;
+		if (provided != null)
+			collectProvidedSuggestions(provided, new SuggestionContext<>(sender, command, args, prefix), collector);
+
+		return collector.toList(prefix);
 	}
 
-	private List<String> collectSuggestions(CommandSyntax<S> syntax, String[] rawArgs) {
+	private @Nullable Argument<?> collectSuggestions(CommandSyntax<S> syntax,
+	                                                 String[] rawArgs,
+	                                                 boolean[] flagArguments,
+	                                                 String prefix,
+	                                                 SuggestionCollector collector) {
 
-		List<String> suggestions = new ArrayList<>();
-		for (int r = 0, a = 0; a < syntax.length(); r++) {
+		// walking the tokens before the current one, to find the argument it's typed for
+		int a = 0;
+		for (int r = 0; r < rawArgs.length - 1; r++) {
+			if (flagArguments[r]) continue;
 
-			String raw = r >= rawArgs.length ? null : rawArgs[r];
-			Argument<?> required = syntax.getArgument(r);
+			Argument<?> required = syntax.getArgument(a);
+			if (required == null) return null;
 
-			if (ContextFlagRegistry.isRawArgumentFlag(raw)) continue;
+			// the current token is a part of the greedy argument
+			if (required.useRemainingSpace()) break;
 
-			if (required == null) break;
+			if (required instanceof ArgumentLiteral && !required.id().equalsIgnoreCase(rawArgs[r]))
+				return null;
 
-			if (required.isOptional() && raw == null) {
-				a++;
-				continue;
-			} else if (raw == null) {
-				break;
-			}
+			a++;
+		}
+
+		Argument<?> current = syntax.getArgument(a);
+		if (current != null) current.collectSuggestions(prefix, collector);
+
+		return current;
+	}
 
+	private void collectProvidedSuggestions(List<Argument<?>> arguments,
+	                                        SuggestionContext<S> context,
+	                                        SuggestionCollector collector) {
 
-			if (required instanceof ArgumentLiteral && raw.equalsIgnoreCase(required.id())) {
-				suggestions.add(required.id());
+		final String prefix = context.prefix();
+		final long timeout = suggestionTimeout;
+		final long deadline = System.nanoTime() + timeout;
 
-			} else {
+		for (Argument<?> argument : arguments) {
+			CompletableFuture<List<String>> future = cachedSuggestions(argument, context);
 
-				suggestions.addAll(required.suggestions()
-								.stream().map(Object::toString)
-								.toList());
+			// it's cached, so the next tab-completion uses it once it's ready
+			if (timeout == 0 && !future.isDone()) continue;
+
+			List<String> suggestions;
+			try {
+				suggestions = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException ex) {
+				continue;
+			} catch (ExecutionException ex) {
+				logger.log(Level.WARNING, "The suggestion provider of the argument '" + argument.id() + "' failed", ex.getCause());
+				continue;
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			for (String suggestion : suggestions) {
+				if (collector.isFull()) return;
+
+				if (suggestion.regionMatches(true, 0, prefix, 0, prefix.length()))
+					collector.add(suggestion);
 			}
 
-			a++;
 		}
 
-		return suggestions;
+	}
+
+	private CompletableFuture<List<String>> cachedSuggestions(Argument<?> argument, SuggestionContext<S> context) {
+		SuggestionProvider<?> provider = argument.suggestionProvider();
+		assert provider != null;
+
+		return switch (provider.caching()) {
+			case SHARED -> suggestionCache.get(argument, context.prefix(), () -> provideSuggestions(argument, context));
+			case PER_SENDER -> suggestionCache.get(argument, context.prefix(), wrapper.senderName(context.sender()),
+							() -> provideSuggestions(argument, context));
+			case NONE -> provideSuggestions(argument, context);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<List<String>> provideSuggestions(Argument<?> argument, SuggestionContext<S> context) {
+		SuggestionProvider<S> provider = (SuggestionProvider<S>) argument.suggestionProvider();
+		assert provider != null;
+
+		try {
+			return provider.suggest(context).thenApply(List::copyOf);
+		} catch (Exception ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
 	}
 
 	@Override
@@ -372,7 +541,8 @@ public abstract class AbstractCommandManager<P, S> implements CommandManager<P,
 
 	@Override
 	public void log(String msg, Object... args) {
-		logger.info(String.format(msg, args));
+		if (logger.isLoggable(Level.INFO))
+			logger.info(String.format(msg, args));
 	}
 
 }
@@ -1,6 +1,6 @@
 package io.github.mqzn.commands.base.manager;
 
-import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import org.jetbrains.annotations.NotNull;
 
@@ -21,14 +21,7 @@ public final class AmbiguityChecker<S> {
 	}
 
 	public static <S> boolean hasLiteralArgs(@NotNull CommandSyntax<S> syntax) {
-		for (var arg : syntax.getArguments()) {
-			if (arg instanceof ArgumentLiteral) {
-				return true;
-			}
-
-		}
-
-		return false;
+		return syntax.hasLiteralArgs();
 	}
 
 	public synchronized @NotNull List<CommandSyntax<S>> findAmbiguity() {
@@ -65,14 +58,25 @@ public final class AmbiguityChecker<S> {
 
 	private boolean areAmbigious(@NotNull CommandSyntax<S> s1, @NotNull CommandSyntax<S> s2) {
 
-		// first condition is that 2 or more syntaxes without literal args and same length
-		// second condition is just a duplicate syntax
+		// first condition is that 2 or more syntaxes without literal args, with the same length and argument types
+		// (the types tell the others apart when matching) second condition is just a duplicate syntax
 
-		boolean firstCondition = (!hasLiteralArgs(s1) && !hasLiteralArgs(s2) && s1.length() == s2.length());
+		boolean firstCondition = (!hasLiteralArgs(s1) && !hasLiteralArgs(s2) && s1.length() == s2.length() && sameTypes(s1, s2));
 		boolean secondCondition = s1.equals(s2);
 
 		return firstCondition || secondCondition;
 	}
 
+	private boolean sameTypes(@NotNull CommandSyntax<S> s1, @NotNull CommandSyntax<S> s2) {
+		List<Argument<?>> first = s1.getArguments(), second = s2.getArguments();
+		if (first.size() != second.size()) return true;
+
+		for (int i = 0; i < first.size(); i++) {
+			if (first.get(i).type() != second.get(i).type()) return false;
+		}
+
+		return true;
+	}
+
 
 }
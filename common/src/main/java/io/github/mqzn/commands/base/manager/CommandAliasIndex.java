@@ -0,0 +1,163 @@
+package io.github.mqzn.commands.base.manager;
+
+import io.github.mqzn.commands.base.Command;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A case-folded index from the names and aliases of the
+ * registered commands to the commands themselves.
+ * <p>
+ * Reads are lock-free and safe from any thread, while registering and unregistering
+ * are serialized. When a name or an alias is claimed by more than one command,
+ * a command's name always wins over another command's alias, otherwise
+ * the command registered first keeps it.
+ *
+ * @param <S> the sender type
+ * @see AliasConflict
+ */
+public final class CommandAliasIndex<S> {
+
+	@NotNull
+	private final Map<String, Command<S>> index = new ConcurrentHashMap<>();
+
+	@NotNull
+	private final Map<String, List<Claim<S>>> claims = new HashMap<>();
+
+	CommandAliasIndex() {
+
+	}
+
+	private static @NotNull String fold(@NotNull String key) {
+		return key.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Resolves a command by its name or one of its aliases, ignoring case
+	 *
+	 * @param nameOrAlias the name or alias
+	 * @return the command, or null if none claims that key
+	 */
+	public @Nullable Command<S> get(@NotNull String nameOrAlias) {
+		return index.get(fold(nameOrAlias));
+	}
+
+	/**
+	 * Indexes the name and aliases of a command
+	 *
+	 * @param command the command to index
+	 * @return the conflicts that the command has caused
+	 */
+	synchronized @NotNull List<AliasConflict> add(@NotNull Command<S> command) {
+		List<String> keys = new ArrayList<>(1 + command.info().aliases().length);
+		claim(command, command.name(), true, keys);
+
+		for (String alias : command.info().aliases())
+			claim(command, alias, false, keys);
+
+		List<AliasConflict> conflicts = new ArrayList<>();
+		for (String key : keys) {
+			AliasConflict conflict = conflictOf(key, claims.get(key));
+			if (conflict != null) conflicts.add(conflict);
+		}
+
+		return conflicts;
+	}
+
+	/**
+	 * Removes the name and aliases of a command from the index,
+	 * any other command claiming the same keys takes them over
+	 *
+	 * @param command the command to remove
+	 */
+	synchronized void remove(@NotNull Command<S> command) {
+		List<String> keys = new ArrayList<>(1 + command.info().aliases().length);
+		keys.add(fold(command.name()));
+		for (String alias : command.info().aliases())
+			keys.add(fold(alias));
+
+		for (String key : keys) {
+			List<Claim<S>> keyClaims = claims.get(key);
+			if (keyClaims == null) continue;
+
+			keyClaims.removeIf((claim) -> claim.command == command);
+			if (keyClaims.isEmpty()) {
+				claims.remove(key);
+				index.remove(key);
+			} else {
+				index.put(key, owner(keyClaims).command);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Reports every name or alias that is claimed by more than one command
+	 *
+	 * @return the current conflicts
+	 */
+	public synchronized @NotNull List<AliasConflict> conflicts() {
+		List<AliasConflict> conflicts = new ArrayList<>();
+		claims.forEach((key, keyClaims) -> {
+			AliasConflict conflict = conflictOf(key, keyClaims);
+			if (conflict != null) conflicts.add(conflict);
+		});
+
+		return conflicts;
+	}
+
+	private void claim(@NotNull Command<S> command, @NotNull String name, boolean isName, @NotNull List<String> keys) {
+		String key = fold(name);
+		List<Claim<S>> keyClaims = claims.computeIfAbsent(key, (k) -> new ArrayList<>(1));
+
+		for (Claim<S> claim : keyClaims)
+			if (claim.command == command) return; // an alias repeating the name
+
+		keyClaims.add(new Claim<>(command, isName));
+		index.put(key, owner(keyClaims).command);
+		keys.add(key);
+	}
+
+	private @NotNull Claim<S> owner(@NotNull List<Claim<S>> keyClaims) {
+		for (Claim<S> claim : keyClaims)
+			if (claim.isName) return claim;
+
+		return keyClaims.get(0);
+	}
+
+	private @Nullable AliasConflict conflictOf(@NotNull String key, @Nullable List<Claim<S>> keyClaims) {
+		if (keyClaims == null || keyClaims.size() < 2) return null;
+
+		Claim<S> owner = owner(keyClaims);
+		List<String> shadowed = new ArrayList<>(keyClaims.size() - 1);
+		for (Claim<S> claim : keyClaims)
+			if (claim != owner) shadowed.add(claim.command.name());
+
+		return new AliasConflict(key, owner.command.name(), shadowed);
+	}
+
+	private record Claim<S>(@NotNull Command<S> command, boolean isName) {
+
+	}
+
+	/**
+	 * A name or an alias claimed by more than one command
+	 *
+	 * @param alias    the case-folded name or alias
+	 * @param owner    the name of the command that the alias resolves to
+	 * @param shadowed the names of the other commands claiming it
+	 */
+	public record AliasConflict(@NotNull String alias, @NotNull String owner, @NotNull List<String> shadowed) {
+
+		@Override
+		public String toString() {
+			return "'" + alias + "' resolves to '" + owner + "', shadowing " + shadowed;
+		}
+
+	}
+
+}
@@ -1,13 +1,21 @@
 package io.github.mqzn.commands.base.manager;
 
+import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.context.CommandContext;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class CommandExecutionCoordinator<S> {
 
+	public final static int DEFAULT_POOL_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	public final static int DEFAULT_POOL_QUEUE_CAPACITY = 256;
+
 	@NotNull
 	protected final CommandManager<?, S> manager;
 
@@ -16,13 +24,140 @@ public abstract class CommandExecutionCoordinator<S> {
 	}
 
 	static <S> CommandExecutionCoordinator<S> async(@NotNull CommandManager<?, S> manager) {
-		return new AsyncCommandCoordinator<>(manager);
+		return new AsyncCommandCoordinator<>(manager, Type.ASYNC, null, false);
+	}
+
+	/**
+	 * An async coordinator that runs the commands on the executor supplied,
+	 * the executor is owned by the caller, so it's never shutdown by the coordinator
+	 *
+	 * @param manager  the command manager
+	 * @param executor the executor to run the commands on
+	 * @param <S>      the sender type
+	 * @return the coordinator created
+	 */
+	static <S> CommandExecutionCoordinator<S> async(@NotNull CommandManager<?, S> manager, @NotNull Executor executor) {
+		return new AsyncCommandCoordinator<>(manager, Type.ASYNC, executor, false);
+	}
+
+	/**
+	 * A coordinator that runs every command on it's own virtual thread,
+	 * suitable for commands that block (e.g: database queries).
+	 * On runtimes without virtual threads (before java 21)
+	 * it falls back to a cached pool of daemon threads.
+	 *
+	 * @param manager the command manager
+	 * @param <S>     the sender type
+	 * @return the coordinator created
+	 */
+	static <S> CommandExecutionCoordinator<S> virtual(@NotNull CommandManager<?, S> manager) {
+		return new AsyncCommandCoordinator<>(manager, Type.VIRTUAL, virtualThreadExecutor(), true);
+	}
+
+	/**
+	 * A coordinator backed by a fixed pool of platform threads with a bounded queue,
+	 * when the queue is full the command is rejected and the sender is notified
+	 * using the caption {@link CaptionKey#EXECUTION_REJECTED}
+	 *
+	 * @param manager       the command manager
+	 * @param threads       the number of threads in the pool
+	 * @param queueCapacity the maximum number of commands waiting for a thread
+	 * @param <S>           the sender type
+	 * @return the coordinator created, it's pool is shutdown by {@link #shutdown()}
+	 */
+	public static <S> CommandExecutionCoordinator<S> bounded(@NotNull CommandManager<?, S> manager, int threads, int queueCapacity) {
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+						60L, TimeUnit.SECONDS,
+						new ArrayBlockingQueue<>(queueCapacity),
+						daemonThreadFactory("mCommands-executor-"));
+		pool.allowCoreThreadTimeOut(true);
+
+		return new AsyncCommandCoordinator<>(manager, Type.BOUNDED, pool, true);
+	}
+
+	/**
+	 * An async coordinator that gives each sender an ordered lane,
+	 * the commands of one sender run one after another in the order they were sent
+	 * while the commands of different senders run in parallel on the executor.
+	 * A lane is only a chain of futures, it's evicted as soon as it becomes idle,
+	 * so no thread is held per sender.
+	 * The executor is owned by the caller, so it's never shutdown by the coordinator
+	 *
+	 * @param manager  the command manager
+	 * @param executor the executor to run the commands on
+	 * @param <S>      the sender type
+	 * @return the coordinator created
+	 */
+	public static <S> CommandExecutionCoordinator<S> perSender(@NotNull CommandManager<?, S> manager, @NotNull Executor executor) {
+		return new SenderLaneCommandCoordinator<>(manager, executor, false);
+	}
+
+	/**
+	 * A per-sender coordinator running the lanes on it's own pool of
+	 * {@link #DEFAULT_POOL_THREADS} daemon threads, instead of a pool shared with the rest of the server
+	 *
+	 * @param manager the command manager
+	 * @param <S>     the sender type
+	 * @return the coordinator created, it's pool is shutdown by {@link #shutdown()}
+	 */
+	public static <S> CommandExecutionCoordinator<S> perSender(@NotNull CommandManager<?, S> manager) {
+		ExecutorService pool = Executors.newFixedThreadPool(DEFAULT_POOL_THREADS, daemonThreadFactory("mCommands-lane-"));
+		return new SenderLaneCommandCoordinator<>(manager, pool, true);
 	}
 
 	static <S> CommandExecutionCoordinator<S> sync(@NotNull CommandManager<?, S> manager) {
 		return new SyncCommandCoordinator<>(manager);
 	}
 
+	static <S> CommandExecutionCoordinator<S> of(@NotNull CommandManager<?, S> manager, @NotNull Type type) {
+		return switch (type) {
+			case ASYNC -> async(manager);
+			case SYNC -> sync(manager);
+			case VIRTUAL -> virtual(manager);
+			case BOUNDED -> bounded(manager, DEFAULT_POOL_THREADS, DEFAULT_POOL_QUEUE_CAPACITY);
+			case PER_SENDER -> perSender(manager);
+		};
+	}
+
+	static <S> CommandExecutionCoordinator<S> of(@NotNull CommandManager<?, S> manager, @NotNull Type type, @NotNull Executor executor) {
+		return switch (type) {
+			case ASYNC -> async(manager, executor);
+			case PER_SENDER -> perSender(manager, executor);
+			default -> throw new IllegalArgumentException("The coordinator " + type + " can't run on an executor supplied !");
+		};
+	}
+
+	@NotNull
+	private static Executor virtualThreadExecutor() {
+		try {
+			return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+			return Executors.newCachedThreadPool(daemonThreadFactory("mCommands-blocking-"));
+		}
+	}
+
+	@NotNull
+	private static ThreadFactory daemonThreadFactory(@NotNull String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return (runnable) -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static <S, C> ExecutionResult execute(@NotNull C sender,
+	                                              @NotNull CommandSyntax<S> syntax,
+	                                              @NotNull CommandContext<S> context) {
+		try {
+			syntax.execute(sender, context);
+			return ExecutionResult.SUCCESS;
+		} catch (Exception ex) {
+			ex.printStackTrace();
+			return ExecutionResult.FAILED;
+		}
+	}
+
 	public CommandManager<?, S> manager() {
 		return manager;
 	}
@@ -33,11 +168,21 @@ public abstract class CommandExecutionCoordinator<S> {
 	                                                                           @NotNull CommandSyntax<S> syntax,
 	                                                                           @NotNull CommandContext<S> context);
 
+	/**
+	 * Releases the threads owned by this coordinator,
+	 * commands already submitted are still executed
+	 */
+	public void shutdown() {
+
+	}
+
 
 	public enum ExecutionResult {
 		SUCCESS,
 
-		FAILED;
+		FAILED,
+
+		REJECTED;
 
 	}
 
@@ -45,37 +190,145 @@ public abstract class CommandExecutionCoordinator<S> {
 	public enum Type {
 
 		ASYNC,
-		SYNC;
+		SYNC,
+
+		/**
+		 * A virtual thread per command
+		 */
+		VIRTUAL,
+
+		/**
+		 * A bounded pool of platform threads
+		 */
+		BOUNDED,
+
+		/**
+		 * Async, but ordered for each sender
+		 */
+		PER_SENDER;
 	}
 
 	final static class AsyncCommandCoordinator<S> extends CommandExecutionCoordinator<S> {
 
-		private AsyncCommandCoordinator(@NotNull CommandManager<?, S> manager) {
+		@NotNull
+		private final Type type;
+
+		@Nullable
+		private final Executor executor;
+
+		private final boolean ownsExecutor;
+
+		private AsyncCommandCoordinator(@NotNull CommandManager<?, S> manager,
+		                                @NotNull Type type,
+		                                @Nullable Executor executor,
+		                                boolean ownsExecutor) {
 			super(manager);
+			this.type = type;
+			this.executor = executor;
+			this.ownsExecutor = ownsExecutor;
 		}
 
 		@Override
 		public Type type() {
-			return Type.ASYNC;
+			return type;
 		}
 
 		@Override
 		public <C> CompletableFuture<ExecutionResult> coordinateExecution(@NotNull C sender,
 		                                                                  @NotNull CommandSyntax<S> syntax,
 		                                                                  @NotNull CommandContext<S> context) {
-			return CompletableFuture.supplyAsync(() -> {
+			try {
+				return executor == null
+								? CompletableFuture.supplyAsync(() -> execute(sender, syntax, context))
+								: CompletableFuture.supplyAsync(() -> execute(sender, syntax, context), executor);
+			} catch (RejectedExecutionException ex) {
+				manager.captionRegistry().sendCaption(context.sender(), context, CaptionKey.EXECUTION_REJECTED);
+				return CompletableFuture.completedFuture(ExecutionResult.REJECTED);
+			}
 
-				try {
-					syntax.execute(sender, context);
-					return ExecutionResult.SUCCESS;
-				} catch (Exception ex) {
-					ex.printStackTrace();
-					return ExecutionResult.FAILED;
-				}
+		}
+
+		@Override
+		public void shutdown() {
+			if (ownsExecutor && executor instanceof ExecutorService service)
+				service.shutdown();
+		}
+
+	}
+
+
+	final static class SenderLaneCommandCoordinator<S> extends CommandExecutionCoordinator<S> {
+
+		@NotNull
+		private final Executor executor;
+
+		private final boolean ownsExecutor;
+
+		// the tail of each busy lane, keyed by the sender name
+		@NotNull
+		private final Map<String, CompletableFuture<ExecutionResult>> lanes = new ConcurrentHashMap<>();
+
+		private SenderLaneCommandCoordinator(@NotNull CommandManager<?, S> manager, @NotNull Executor executor, boolean ownsExecutor) {
+			super(manager);
+			this.executor = executor;
+			this.ownsExecutor = ownsExecutor;
+		}
+
+		@Override
+		public Type type() {
+			return Type.PER_SENDER;
+		}
 
-			});
+		@Override
+		public <C> CompletableFuture<ExecutionResult> coordinateExecution(@NotNull C sender,
+		                                                                  @NotNull CommandSyntax<S> syntax,
+		                                                                  @NotNull CommandContext<S> context) {
+			final String lane = manager.getSenderWrapper().senderName(context.sender());
 
+			// compute is atomic per key, so appending to the lane never races
+			final CompletableFuture<ExecutionResult> tail;
+			try {
+				tail = lanes.compute(lane, (key, previous) ->
+								previous == null
+												? CompletableFuture.supplyAsync(() -> execute(sender, syntax, context), executor)
+												: previous.handle((result, ex) -> result)
+												.thenApplyAsync((ignored) -> execute(sender, syntax, context), executor)
+												.exceptionally((ex) -> rejected(ex, context))
+				);
+			} catch (RejectedExecutionException ex) {
+				// the lane was empty, so nothing was mapped
+				return CompletableFuture.completedFuture(rejected(ex, context));
+			}
+
+			tail.whenComplete((result, ex) -> lanes.remove(lane, tail));
+			return tail;
 		}
+
+		// the executions never throw, so a lane only fails when the executor rejects the command
+		@NotNull
+		private ExecutionResult rejected(@NotNull Throwable ex, @NotNull CommandContext<S> context) {
+			Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+			if (!(cause instanceof RejectedExecutionException)) return ExecutionResult.FAILED;
+
+			manager.captionRegistry().sendCaption(context.sender(), context, CaptionKey.EXECUTION_REJECTED);
+			return ExecutionResult.REJECTED;
+		}
+
+		/**
+		 * The number of senders that currently have commands running or waiting
+		 *
+		 * @return the number of busy lanes
+		 */
+		public int activeLanes() {
+			return lanes.size();
+		}
+
+		@Override
+		public void shutdown() {
+			if (ownsExecutor && executor instanceof ExecutorService service)
+				service.shutdown();
+		}
+
 	}
 
 
@@ -1,9 +1,15 @@
 package io.github.mqzn.commands.base.manager;
 
 import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.audit.AuditSink;
 import io.github.mqzn.commands.base.caption.CaptionRegistry;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.cooldown.CooldownStore;
+import io.github.mqzn.commands.base.cooldown.RateLimitStore;
+import io.github.mqzn.commands.base.metrics.MetricsRegistry;
+import io.github.mqzn.commands.base.pipeline.ExecutionPipeline;
+import io.github.mqzn.commands.base.suggestion.SuggestionCache;
 import io.github.mqzn.commands.base.syntax.CommandSyntax;
 import io.github.mqzn.commands.exceptions.CommandExceptionHandler;
 import io.github.mqzn.commands.help.CommandHelpProvider;
@@ -13,6 +19,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.logging.Logger;
 
 public interface CommandManager<P, S> {
 
@@ -20,6 +27,44 @@ public interface CommandManager<P, S> {
 
 	@NotNull CommandExceptionHandler<S> exceptionHandler();
 
+	@NotNull CommandExecutionCoordinator<S> coordinator();
+
+	/**
+	 * Releases the threads owned by the manager (e.g: the pool of a bounded coordinator)
+	 * and closes the persistence of the cooldowns, to be called once the plugin is disabled
+	 */
+	void shutdown();
+
+	/**
+	 * The stages every command is executed through,
+	 * where interceptors can be registered
+	 *
+	 * @return the execution pipeline
+	 */
+	@NotNull ExecutionPipeline<S> pipeline();
+
+	/**
+	 * The metrics of the commands executed,
+	 * per command and per syntax
+	 *
+	 * @return the metrics registry
+	 */
+	@NotNull MetricsRegistry<S> metrics();
+
+	/**
+	 * The sink of the audit records of the commands executed
+	 *
+	 * @return the audit sink
+	 */
+	@NotNull AuditSink auditSink();
+
+	/**
+	 * The logger of the manager, where the failures of its components are reported
+	 *
+	 * @return the logger
+	 */
+	@NotNull Logger logger();
+
 	<C> void executeCommand(
 					@NotNull Command<S> command,
 					S sender,
@@ -38,10 +83,24 @@ public interface CommandManager<P, S> {
 
 	@Nullable Command<S> getCommand(String name);
 
+	/**
+	 * Reports the names and aliases that are claimed
+	 * by more than one registered command
+	 *
+	 * @return the alias conflicts between the registered commands
+	 */
+	@NotNull List<CommandAliasIndex.AliasConflict> aliasConflicts();
+
 	@NotNull Collection<Command<S>> getCommands();
 
 	@NotNull FlagRegistry flagRegistry();
 
+	@NotNull CooldownStore cooldownStore();
+
+	@NotNull RateLimitStore rateLimitStore();
+
+	@NotNull SuggestionCache suggestionCache();
+
 	@NotNull CaptionRegistry<S> captionRegistry();
 
 	@NotNull SenderProviderRegistry<S> senderProviderRegistry();
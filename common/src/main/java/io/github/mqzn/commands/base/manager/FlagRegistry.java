@@ -1,22 +1,37 @@
 package io.github.mqzn.commands.base.manager;
 
+import io.github.mqzn.commands.base.manager.flags.CommandFlag;
 import io.github.mqzn.commands.base.manager.flags.FlagInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * The registry of the flags known to the manager,
+ * the names and aliases of the flags are compiled into an index
+ * each time a flag is registered or unregistered, so resolving a flag
+ * (even each char of a combined one like -xyz) never scans the flags
+ * and never creates a new {@link CommandFlag}
+ */
 public final class FlagRegistry {
 
 	@NotNull
 	public final static String FLAG_IDENTIFIER = "-";
 	@NotNull
 	private static final AtomicBoolean flagRegistryCreated = new AtomicBoolean(false);
+
+	@NotNull
+	private final Map<String, FlagInfo> flags = new LinkedHashMap<>();
+
+	// keys are the identifier followed by the lower-cased name or alias, e.g: "-silent"
 	@NotNull
-	private final Map<String, FlagInfo> flags = new HashMap<>();
+	private volatile Map<String, IndexedFlag> index = Map.of();
+
+	// indexed by the lower-cased single char name or alias, 'a' to 'z'
+	@NotNull
+	private volatile IndexedFlag[] shortFlags = new IndexedFlag['z' - 'a' + 1];
 
 	private FlagRegistry() {
 		flagRegistryCreated.set(true);
@@ -31,31 +46,56 @@ public final class FlagRegistry {
 		return new FlagRegistry();
 	}
 
-	public void registerFlag(@NotNull FlagInfo flag) {
-		flags.put(flag.getName(), flag);
+	private static @NotNull String key(@NotNull String nameOrAlias) {
+		return FLAG_IDENTIFIER + nameOrAlias.toLowerCase(Locale.ROOT);
 	}
 
+	public synchronized void registerFlag(@NotNull FlagInfo flag) {
+		flags.put(flag.getName(), flag);
+		compile();
+	}
 
-	public void unregisterFlag(String flag) {
-		flags.remove(flag);
-
-		for (var f : flags.values()) {
-			if (f.hasAliase(flag)) {
-				flags.remove(flag);
-				break;
-			}
 
+	public synchronized void unregisterFlag(String flag) {
+		if (flags.remove(flag) == null) {
+			IndexedFlag indexed = index.get(key(flag));
+			if (indexed != null) flags.remove(indexed.info().getName());
 		}
 
+		compile();
 	}
 
 	public @Nullable FlagInfo getFlag(String flag) {
-		for (FlagInfo f : flags.values()) {
-			if (f.getName().equalsIgnoreCase(flag) || f.hasAliase(flag))
-				return f;
-		}
+		IndexedFlag indexed = index.get(key(flag));
+		return indexed == null ? null : indexed.info();
+	}
 
-		return null;
+	/**
+	 * Resolves the flag of a raw flag argument by it's name or one of it's aliases,
+	 * e.g: "-silent" or "-s"
+	 *
+	 * @param rawFlag the raw flag argument, including the {@link #FLAG_IDENTIFIER}
+	 * @return the interned flag, or null if no flag has that name or alias
+	 */
+	public @Nullable CommandFlag getCommandFlag(@NotNull String rawFlag) {
+		// toLowerCase returns the same instance when the input is already lower-cased
+		IndexedFlag indexed = index.get(rawFlag.toLowerCase(Locale.ROOT));
+		return indexed == null ? null : indexed.flag();
+	}
+
+	/**
+	 * Resolves a flag by a single char of a combined flag argument,
+	 * e.g: 'x' of "-xyz"
+	 *
+	 * @param alias the single char name or alias of the flag, case-insensitive
+	 * @return the interned flag, or null if no flag has that char as a name or an alias
+	 */
+	public @Nullable CommandFlag getCommandFlag(char alias) {
+		char lower = Character.toLowerCase(alias);
+		if (lower < 'a' || lower > 'z') return null;
+
+		IndexedFlag indexed = shortFlags[lower - 'a'];
+		return indexed == null ? null : indexed.flag();
 	}
 
 
@@ -67,4 +107,43 @@ public final class FlagRegistry {
 		return getFlag(flagAlias) != null;
 	}
 
+	private void compile() {
+		Map<String, IndexedFlag> compiled = new HashMap<>();
+		IndexedFlag[] compiledShortFlags = new IndexedFlag['z' - 'a' + 1];
+
+		List<IndexedFlag> indexedFlags = new ArrayList<>(flags.size());
+		for (FlagInfo info : flags.values())
+			indexedFlags.add(new IndexedFlag(info, CommandFlag.from(info)));
+
+		// names are indexed first, so a name always wins over another flag's alias
+		for (IndexedFlag indexed : indexedFlags)
+			put(compiled, compiledShortFlags, indexed.info().getName(), indexed);
+
+		for (IndexedFlag indexed : indexedFlags)
+			for (String alias : indexed.info().getAliases())
+				put(compiled, compiledShortFlags, alias, indexed);
+
+		this.shortFlags = compiledShortFlags;
+		this.index = Map.copyOf(compiled);
+	}
+
+	private void put(@NotNull Map<String, IndexedFlag> compiled,
+	                 @NotNull IndexedFlag[] compiledShortFlags,
+	                 @NotNull String nameOrAlias,
+	                 @NotNull IndexedFlag indexed) {
+
+		compiled.putIfAbsent(key(nameOrAlias), indexed);
+
+		if (nameOrAlias.length() == 1) {
+			char lower = Character.toLowerCase(nameOrAlias.charAt(0));
+			if (lower >= 'a' && lower <= 'z' && compiledShortFlags[lower - 'a'] == null)
+				compiledShortFlags[lower - 'a'] = indexed;
+		}
+
+	}
+
+	private record IndexedFlag(@NotNull FlagInfo info, @NotNull CommandFlag flag) {
+
+	}
+
 }
@@ -3,6 +3,7 @@ package io.github.mqzn.commands.base.manager.flags;
 import io.github.mqzn.commands.arguments.Argument;
 import io.github.mqzn.commands.base.Information;
 import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.CommandLine;
 import io.github.mqzn.commands.base.context.Context;
 import io.github.mqzn.commands.base.manager.CommandManager;
 import io.github.mqzn.commands.base.manager.FlagRegistry;
@@ -12,17 +13,22 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Set;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public final class ContextFlagRegistry<S> {
 
+	/**
+	 * The syntax of a raw flag argument
+	 *
+	 * @deprecated flags are detected without regex, use {@link #isRawArgumentFlag(CharSequence)} instead
+	 */
+	@Deprecated
 	@NotNull
 	public static final Pattern FLAG_PATTERN = Pattern.compile(FlagRegistry.FLAG_IDENTIFIER + "[a-z]+", Pattern.CASE_INSENSITIVE);
 
+	private final static char FLAG_PREFIX = FlagRegistry.FLAG_IDENTIFIER.charAt(0);
+
 	@NotNull
 	@Getter
 	private final CommandManager<?, S> manager;
@@ -48,9 +54,75 @@ public final class ContextFlagRegistry<S> {
 		return new ContextFlagRegistry<>(manager, commandContext);
 	}
 
-	public static boolean isRawArgumentFlag(String rawArg) {
-		Matcher matcher = FLAG_PATTERN.matcher(rawArg);
-		return matcher.matches();
+	/**
+	 * Checks whether a raw argument is a flag (e.g: -x , -xyz),
+	 * it allocates nothing
+	 *
+	 * @param rawArg the raw argument
+	 * @return whether the raw argument is a flag
+	 */
+	public static boolean isRawArgumentFlag(@Nullable CharSequence rawArg) {
+		if (rawArg == null) return false;
+
+		final int length = rawArg.length();
+		if (length < 2 || rawArg.charAt(0) != FLAG_PREFIX) return false;
+
+		for (int i = 1; i < length; i++) {
+			char c = rawArg.charAt(i);
+			if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Classifies each raw argument as a flag or not in a single pass,
+	 * so matching, parsing and suggesting never have to scan a token twice
+	 *
+	 * @param rawArgs the raw arguments
+	 * @return an array where the element at each index is true if the raw argument there is a flag
+	 */
+	public static boolean @NotNull [] classifyFlags(@NotNull String[] rawArgs) {
+		final boolean[] flags = new boolean[rawArgs.length];
+		for (int i = 0; i < rawArgs.length; i++)
+			flags[i] = isRawArgumentFlag(rawArgs[i]);
+
+		return flags;
+	}
+
+	/**
+	 * Classifies each token of a command line as a flag or not in a single pass,
+	 * reading the chars of the tokens in place without turning them into strings
+	 *
+	 * @param line the tokenized raw arguments
+	 * @return an array where the element at each index is true if the token there is a flag
+	 */
+	public static boolean @NotNull [] classifyFlags(@NotNull CommandLine line) {
+		final boolean[] flags = new boolean[line.size()];
+		for (int i = 0; i < flags.length; i++)
+			flags[i] = isRawArgumentFlag(line, i);
+
+		return flags;
+	}
+
+	/**
+	 * Checks whether a token of a command line is a flag,
+	 * reading it's chars in place
+	 *
+	 * @param line  the tokenized raw arguments
+	 * @param index the index of the token
+	 * @return whether the token is a flag
+	 */
+	public static boolean isRawArgumentFlag(@NotNull CommandLine line, int index) {
+		final int length = line.length(index);
+		if (length < 2 || line.charAt(index, 0) != FLAG_PREFIX) return false;
+
+		for (int i = 1; i < length; i++) {
+			char c = line.charAt(index, i);
+			if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) return false;
+		}
+
+		return true;
 	}
 
 	public FlagExtractionResult extractFlags(@NotNull S sender, @NotNull CommandSyntax<S> syntax) {
@@ -65,18 +137,10 @@ public final class ContextFlagRegistry<S> {
 				break;
 
 
-			if (isRawArgumentFlag(raw)) {
+			if (commandContext.isFlag(r)) {
 
-				var extracted = extractFlagsUsed(sender, raw);
-				boolean foundOneAtLeast = !extracted.isEmpty();
-
-				if (!foundOneAtLeast) {
-					manager.getSenderWrapper().sendMessage(sender, "The flag(s) used are unknown to the command flags registry !");
+				if (!extractFlagsUsed(sender, raw))
 					return FlagExtractionResult.FAILED;
-				}
-
-				for (CommandFlag flag : extracted)
-					this.flagsUsed.put(flag.name(), flag);
 
 				i--;
 			}
@@ -102,35 +166,41 @@ public final class ContextFlagRegistry<S> {
 
 	}
 
-	@NotNull
-	private Set<CommandFlag> extractFlagsUsed(@NotNull S sender, @NotNull String flagRaw) {
-		final Set<CommandFlag> flags = new LinkedHashSet<>();
-
-		//first check if it's single
-
-		//there's more !
-		//examples: -x , -xyz
-
-		for (FlagInfo flagInfo : manager.flagRegistry().flags()) {
-
-			boolean foundFlagAliase = false;
-			for (String aliase : flagInfo.getAliases()) {
-				if (flagRaw.contains(aliase)) {
-
-					if (foundFlagAliase) {
-						manager.getSenderWrapper().sendMessage(sender, "Warning: you used the same flag '" + flagRaw + "' twice !");
-						break;
-					}
+	/**
+	 * Resolves the flags of a raw flag argument into the flags used,
+	 * either a whole name or alias (e.g: -silent) or a combination of single char aliases (e.g: -xyz)
+	 *
+	 * @param sender  the sender of the command
+	 * @param flagRaw the raw flag argument
+	 * @return false if the raw flag contains an unknown flag
+	 */
+	private boolean extractFlagsUsed(@NotNull S sender, @NotNull String flagRaw) {
+		final FlagRegistry flagRegistry = manager.flagRegistry();
+
+		CommandFlag flag = flagRegistry.getCommandFlag(flagRaw);
+		if (flag != null) {
+			useFlag(sender, flag);
+			return true;
+		}
 
-					flags.add(CommandFlag.from(flagInfo));
-					foundFlagAliase = true;
-				}
+		for (int i = 1; i < flagRaw.length(); i++) {
+			char alias = flagRaw.charAt(i);
 
+			flag = flagRegistry.getCommandFlag(alias);
+			if (flag == null) {
+				manager.getSenderWrapper().sendMessage(sender, "Unknown flag '" + FlagRegistry.FLAG_IDENTIFIER + alias + "' in '" + flagRaw + "'");
+				return false;
 			}
 
+			useFlag(sender, flag);
 		}
 
-		return flags;
+		return true;
+	}
+
+	private void useFlag(@NotNull S sender, @NotNull CommandFlag flag) {
+		if (flagsUsed.put(flag.name(), flag) != null)
+			manager.getSenderWrapper().sendMessage(sender, "Warning: you used the same flag '" + FlagRegistry.FLAG_IDENTIFIER + flag.name() + "' twice !");
 	}
 
 	public boolean isPresent(String flagName) {
@@ -145,6 +215,14 @@ public final class ContextFlagRegistry<S> {
 		return flagsUsed.size();
 	}
 
+	/**
+	 * Forgets the flags used, so the registry can be reused
+	 * by a recycled context for another invocation
+	 */
+	public void clear() {
+		flagsUsed.clear();
+	}
+
 	public enum FlagExtractionResult {
 
 		SUCCESS,
@@ -0,0 +1,137 @@
+package io.github.mqzn.commands.base.metrics;
+
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator.ExecutionResult;
+import io.github.mqzn.commands.base.pipeline.ExecutionInvocation;
+import io.github.mqzn.commands.base.pipeline.ExecutionStage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and latencies of the invocations of a command or of one of it's syntaxes,
+ * all recorded with {@link LongAdder}s so concurrent invocations never contend
+ */
+public final class ExecutionMetrics {
+
+	private final static ExecutionResult[] RESULTS = ExecutionResult.values();
+
+	private final static ExecutionStage[] STAGES = ExecutionStage.values();
+
+	@NotNull
+	private final LongAdder invocations = new LongAdder();
+
+	// by the ordinal of the result
+	@NotNull
+	private final LongAdder[] results = adders(RESULTS.length);
+
+	// by the ordinal of the stage that halted
+	@NotNull
+	private final LongAdder[] halts = adders(STAGES.length);
+
+	@NotNull
+	private final Map<ParseError, LongAdder> parseFailures = new ConcurrentHashMap<>();
+
+	@NotNull
+	private final LatencyHistogram matching = new LatencyHistogram(),
+					parsing = new LatencyHistogram(),
+					execution = new LatencyHistogram();
+
+	private static LongAdder[] adders(int length) {
+		LongAdder[] adders = new LongAdder[length];
+		for (int i = 0; i < length; i++) adders[i] = new LongAdder();
+		return adders;
+	}
+
+	/**
+	 * Records a finished invocation
+	 *
+	 * @param invocation the invocation
+	 * @param parseError the parse failure of the invocation, null if it didn't fail to parse
+	 */
+	void record(@NotNull ExecutionInvocation<?> invocation, @Nullable ParseError parseError) {
+		invocations.increment();
+
+		ExecutionResult result = invocation.result();
+		if (result != null) results[result.ordinal()].increment();
+
+		ExecutionStage haltedAt = invocation.haltedAt();
+		if (haltedAt != null) halts[haltedAt.ordinal()].increment();
+
+		if (parseError != null)
+			parseFailures.computeIfAbsent(parseError, (key) -> new LongAdder()).increment();
+
+		record(matching, invocation.duration(ExecutionStage.MATCH));
+		record(parsing, invocation.duration(ExecutionStage.PARSE));
+		record(execution, invocation.duration(ExecutionStage.EXECUTE));
+	}
+
+	private static void record(@NotNull LatencyHistogram histogram, long nanos) {
+		if (nanos >= 0) histogram.record(nanos);
+	}
+
+	public @NotNull Snapshot snapshot() {
+		Map<ExecutionResult, Long> resultCounts = new EnumMap<>(ExecutionResult.class);
+		for (ExecutionResult result : RESULTS)
+			resultCounts.put(result, results[result.ordinal()].sum());
+
+		Map<ExecutionStage, Long> haltCounts = new EnumMap<>(ExecutionStage.class);
+		for (ExecutionStage stage : STAGES) {
+			long halted = halts[stage.ordinal()].sum();
+			if (halted > 0) haltCounts.put(stage, halted);
+		}
+
+		Map<ParseError, Long> failureCounts = new HashMap<>();
+		parseFailures.forEach((error, count) -> failureCounts.put(error, count.sum()));
+
+		return new Snapshot(invocations.sum(), Map.copyOf(resultCounts), Map.copyOf(haltCounts), Map.copyOf(failureCounts),
+						matching.snapshot(), parsing.snapshot(), execution.snapshot());
+	}
+
+	public void reset() {
+		invocations.reset();
+		for (LongAdder adder : results) adder.reset();
+		for (LongAdder adder : halts) adder.reset();
+		parseFailures.clear();
+		matching.reset();
+		parsing.reset();
+		execution.reset();
+	}
+
+	/**
+	 * The metrics of a command or a syntax at some point
+	 *
+	 * @param invocations   the number of invocations
+	 * @param results       the number of executions by their result
+	 * @param halts         the number of invocations ended early, by the stage that halted them
+	 * @param parseFailures the number of parse failures by their kind
+	 * @param matching      the latencies of finding the syntax
+	 * @param parsing       the latencies of parsing the arguments
+	 * @param execution     the latencies of executing the syntax
+	 */
+	public record Snapshot(long invocations,
+	                       @NotNull Map<ExecutionResult, Long> results,
+	                       @NotNull Map<ExecutionStage, Long> halts,
+	                       @NotNull Map<ParseError, Long> parseFailures,
+	                       @NotNull LatencyHistogram.Snapshot matching,
+	                       @NotNull LatencyHistogram.Snapshot parsing,
+	                       @NotNull LatencyHistogram.Snapshot execution) {
+
+		/**
+		 * @return the number of executions that didn't succeed
+		 */
+		public long failures() {
+			long failures = 0;
+			for (var entry : results.entrySet())
+				if (entry.getKey() != ExecutionResult.SUCCESS) failures += entry.getValue();
+
+			return failures;
+		}
+
+	}
+
+}
@@ -0,0 +1,170 @@
+package io.github.mqzn.commands.base.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A contention-free histogram of latencies in nanoseconds, with fixed log-linear buckets
+ * like an HDR histogram of one significant digit: each power of two is split
+ * into {@link #SUB_BUCKETS} buckets, so a value is known within 12.5% of it's size,
+ * from one nanosecond up to 2^{@value #MAX_MAGNITUDE} nanoseconds (about 18 minutes).
+ * <p>
+ * Each bucket is a {@link LongAdder} created the first time a value falls in it,
+ * so recording never blocks and only the ranges actually hit take memory.
+ */
+public final class LatencyHistogram {
+
+	private final static int SUB_BUCKET_BITS = 3;
+
+	public final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	// values below it have a bucket each
+	private final static int LINEAR_BUCKETS = SUB_BUCKETS << 1;
+
+	public final static int MAX_MAGNITUDE = 40;
+
+	public final static int BUCKETS = LINEAR_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	@NotNull
+	private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+	@NotNull
+	private final LongAdder count = new LongAdder(), total = new LongAdder();
+
+	@NotNull
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * The bucket of a value
+	 *
+	 * @param nanos the value, negative values are counted as zero
+	 * @return the index of the bucket
+	 */
+	public static int bucketOf(long nanos) {
+		if (nanos < LINEAR_BUCKETS) return (int) Math.max(nanos, 0);
+
+		final int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+		if (magnitude > MAX_MAGNITUDE) return BUCKETS - 1;
+
+		final int subBucket = (int) (nanos >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * The lowest value of a bucket
+	 *
+	 * @param bucket the index of the bucket
+	 * @return the lowest value counted in the bucket
+	 */
+	public static long lowerBound(int bucket) {
+		if (bucket < LINEAR_BUCKETS) return bucket;
+
+		final int magnitude = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+		final int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * The highest value of a bucket
+	 *
+	 * @param bucket the index of the bucket
+	 * @return the highest value counted in the bucket
+	 */
+	public static long upperBound(int bucket) {
+		if (bucket < LINEAR_BUCKETS) return bucket;
+		if (bucket == BUCKETS - 1) return Long.MAX_VALUE;
+
+		return lowerBound(bucket + 1) - 1;
+	}
+
+	/**
+	 * Records a latency
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		final int index = bucketOf(nanos);
+
+		LongAdder bucket = buckets.get(index);
+		if (bucket == null) {
+			LongAdder created = new LongAdder();
+			bucket = buckets.compareAndExchange(index, null, created);
+			if (bucket == null) bucket = created;
+		}
+
+		bucket.increment();
+		count.increment();
+		total.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	/**
+	 * Copies the current counts, while the histogram may still be recording
+	 * (so the count of the snapshot may be off by the values recorded meanwhile)
+	 *
+	 * @return the snapshot of the histogram
+	 */
+	public @NotNull Snapshot snapshot() {
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			LongAdder bucket = buckets.get(i);
+			if (bucket != null) counts[i] = bucket.sum();
+		}
+
+		return new Snapshot(count.sum(), total.sum(), max.get(), counts);
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			LongAdder bucket = buckets.get(i);
+			if (bucket != null) bucket.reset();
+		}
+
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+
+	/**
+	 * The counts of a histogram at some point
+	 *
+	 * @param count      the number of values recorded
+	 * @param totalNanos the sum of the values recorded
+	 * @param maxNanos   the highest value recorded
+	 * @param buckets    the number of values of each bucket, see {@link #bucketOf(long)}
+	 */
+	public record Snapshot(long count, long totalNanos, long maxNanos, long @NotNull [] buckets) {
+
+		public double mean() {
+			return count == 0 ? 0 : (double) totalNanos / count;
+		}
+
+		/**
+		 * The value below which a percentage of the values recorded fall,
+		 * as the highest value of it's bucket
+		 *
+		 * @param percentile the percentage, between 0 and 100
+		 * @return the value at the percentile, zero if nothing was recorded
+		 */
+		public long percentile(double percentile) {
+			long recorded = 0;
+			for (long bucket : buckets) recorded += bucket;
+			if (recorded == 0) return 0;
+
+			final long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(percentile, 100) / 100));
+
+			long seen = 0;
+			for (int i = 0; i < buckets.length; i++) {
+				seen += buckets[i];
+				if (seen >= rank) return Math.min(upperBound(i), maxNanos);
+			}
+
+			return maxNanos;
+		}
+
+	}
+
+}
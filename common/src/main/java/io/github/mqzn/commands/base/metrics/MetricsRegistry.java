@@ -0,0 +1,146 @@
+package io.github.mqzn.commands.base.metrics;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ParseResult;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.pipeline.ExecutionInterceptor;
+import io.github.mqzn.commands.base.pipeline.ExecutionInvocation;
+import io.github.mqzn.commands.base.pipeline.ExecutionStage;
+import io.github.mqzn.commands.base.pipeline.StageResult;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The metrics of the commands executed by a manager, per command and per syntax,
+ * recorded by intercepting the {@link ExecutionStage#POST_PROCESS} of every invocation.
+ * <p>
+ * Recording is contention-free (see {@link ExecutionMetrics}), and looking up the metrics
+ * of an invocation allocates nothing once it's command and syntax were seen before.
+ * The metrics of a command are kept after it's unregistered, until {@link #reset()}.
+ *
+ * @param <S> the sender type
+ */
+public final class MetricsRegistry<S> implements ExecutionInterceptor<S> {
+
+	@NotNull
+	private final CommandManager<?, S> manager;
+
+	@NotNull
+	private final Map<String, CommandEntry<S>> commands = new ConcurrentHashMap<>();
+
+	private volatile boolean enabled = true;
+
+	public MetricsRegistry(@NotNull CommandManager<?, S> manager) {
+		this.manager = manager;
+	}
+
+	/**
+	 * Enables or disables the recording, the metrics already recorded are kept
+	 *
+	 * @param enabled whether to record the invocations
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public @NotNull StageResult intercept(@NotNull ExecutionInvocation<S> invocation) {
+		if (!enabled) return StageResult.PROCEED;
+
+		final ParseError parseError = parseError(invocation);
+		final CommandEntry<S> entry = commands.computeIfAbsent(invocation.command().name(), (name) -> new CommandEntry<>());
+		entry.metrics.record(invocation, parseError);
+
+		CommandSyntax<S> syntax = invocation.syntax();
+		if (syntax != null) entry.syntax(syntax).record(invocation, parseError);
+
+		return StageResult.PROCEED;
+	}
+
+	private static @Nullable ParseError parseError(@NotNull ExecutionInvocation<?> invocation) {
+		CommandContext<?> context = invocation.context();
+		if (context == null || !context.hasFailed()) return null;
+
+		Argument<?> argument = context.failedArgument();
+		ParseResult failure = context.parseResult();
+		if (argument == null || failure == null) return ParseError.UNKNOWN_FLAG;
+
+		return new ParseError(argument.getClass().getSimpleName(), failure.errorCode());
+	}
+
+	/**
+	 * The metrics of a command, all it's syntaxes included
+	 *
+	 * @param command the name of the command
+	 * @return the metrics of the command, null if it was never invoked
+	 */
+	public @Nullable ExecutionMetrics command(@NotNull String command) {
+		CommandEntry<S> entry = commands.get(command);
+		return entry == null ? null : entry.metrics;
+	}
+
+	/**
+	 * Copies the metrics of all the commands and their syntaxes,
+	 * the syntaxes are keyed by their format (e.g: "/give item &lt;name&gt; [amount]")
+	 *
+	 * @return the snapshot of the metrics
+	 */
+	public @NotNull MetricsSnapshot snapshot() {
+		Map<String, ExecutionMetrics.Snapshot> commandSnapshots = new LinkedHashMap<>();
+		Map<String, ExecutionMetrics.Snapshot> syntaxSnapshots = new LinkedHashMap<>();
+
+		commands.forEach((name, entry) -> {
+			commandSnapshots.put(name, entry.metrics.snapshot());
+			entry.syntaxes.forEach((syntax, metrics) -> syntaxSnapshots.put(syntax.formatted(manager), metrics.snapshot()));
+		});
+
+		return new MetricsSnapshot(System.currentTimeMillis(), commandSnapshots, syntaxSnapshots);
+	}
+
+	/**
+	 * Forgets all the metrics recorded
+	 */
+	public void reset() {
+		commands.clear();
+	}
+
+	private final static class CommandEntry<S> {
+
+		@NotNull
+		private final ExecutionMetrics metrics = new ExecutionMetrics();
+
+		// copy-on-write, syntaxes are compared by identity to avoid hashing their arguments
+		@NotNull
+		private volatile Map<CommandSyntax<S>, ExecutionMetrics> syntaxes = Map.of();
+
+		@NotNull
+		private ExecutionMetrics syntax(@NotNull CommandSyntax<S> syntax) {
+			ExecutionMetrics metrics = syntaxes.get(syntax);
+			if (metrics != null) return metrics;
+
+			synchronized (this) {
+				metrics = syntaxes.get(syntax);
+				if (metrics == null) {
+					Map<CommandSyntax<S>, ExecutionMetrics> copy = new IdentityHashMap<>(syntaxes);
+					copy.put(syntax, metrics = new ExecutionMetrics());
+					syntaxes = copy;
+				}
+			}
+
+			return metrics;
+		}
+
+	}
+
+}
@@ -0,0 +1,18 @@
+package io.github.mqzn.commands.base.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * The metrics of all the commands at some point, for exporting them
+ *
+ * @param takenAt  the time the snapshot was taken at, in epoch milliseconds
+ * @param commands the metrics of each command by it's name
+ * @param syntaxes the metrics of each syntax by it's format
+ */
+public record MetricsSnapshot(long takenAt,
+                              @NotNull Map<String, ExecutionMetrics.Snapshot> commands,
+                              @NotNull Map<String, ExecutionMetrics.Snapshot> syntaxes) {
+
+}
@@ -0,0 +1,21 @@
+package io.github.mqzn.commands.base.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A kind of parse failure, the error codes are decided by each argument type
+ * (e.g: {@link io.github.mqzn.commands.arguments.ArgumentNumber#TOO_HIGH_ERROR}),
+ * so they're only meaningful along with the argument type
+ *
+ * @param argumentType the simple name of the argument type, or {@link #FLAGS} for an unknown flag
+ * @param errorCode    the error code of the argument type
+ */
+public record ParseError(@NotNull String argumentType, int errorCode) {
+
+	@NotNull
+	public final static String FLAGS = "flags";
+
+	@NotNull
+	final static ParseError UNKNOWN_FLAG = new ParseError(FLAGS, 0);
+
+}
@@ -0,0 +1,27 @@
+package io.github.mqzn.commands.base.pipeline;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Intercepts a stage of the execution of commands,
+ * e.g: rate limiting at {@link ExecutionStage#THROTTLE} or auditing at {@link ExecutionStage#POST_PROCESS}
+ * <p>
+ * An interceptor runs on the thread of the stage, which is the thread executing the command for
+ * {@link ExecutionStage#POST_PROCESS} when the coordinator is asynchronous, so it must be thread-safe.
+ *
+ * @param <S> the sender type
+ * @see ExecutionPipeline#intercept(ExecutionStage, ExecutionInterceptor)
+ */
+@FunctionalInterface
+public interface ExecutionInterceptor<S> {
+
+	/**
+	 * Intercepts the invocation before the step of the stage
+	 *
+	 * @param invocation the invocation
+	 * @return {@link StageResult#PROCEED} to continue, or {@link StageResult#HALT} to end the invocation,
+	 * the result is ignored at {@link ExecutionStage#POST_PROCESS}
+	 */
+	@NotNull StageResult intercept(@NotNull ExecutionInvocation<S> invocation);
+
+}
@@ -0,0 +1,171 @@
+package io.github.mqzn.commands.base.pipeline;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The state of one execution of a command as it goes through the stages of the {@link ExecutionPipeline},
+ * each stage fills the parts it resolves, so a part is null until it's stage is done.
+ *
+ * @param <S> the sender type
+ */
+public final class ExecutionInvocation<S> {
+
+	private final static int STAGES = ExecutionStage.values().length;
+
+	@NotNull
+	private final Command<S> command;
+
+	@NotNull
+	private final S sender;
+
+	@NotNull
+	private final String[] rawArguments;
+
+	@NotNull
+	private final DelegateCommandContext<S> delegateContext;
+
+	// the System.nanoTime() each stage started at, zero if it wasn't reached
+	private final long @NotNull [] stageTimes = new long[STAGES];
+
+	@Nullable
+	private CommandSyntax<S> syntax;
+
+	@Nullable
+	private CommandContext<S> context;
+
+	@Nullable
+	private Object mappedSender;
+
+	@Nullable
+	private ExecutionStage haltedAt;
+
+	@Nullable
+	private CommandExecutionCoordinator.ExecutionResult result;
+
+	ExecutionInvocation(@NotNull Command<S> command,
+	                    @NotNull S sender,
+	                    @NotNull String[] rawArguments,
+	                    @NotNull DelegateCommandContext<S> delegateContext) {
+		this.command = command;
+		this.sender = sender;
+		this.rawArguments = rawArguments;
+		this.delegateContext = delegateContext;
+	}
+
+	public @NotNull Command<S> command() {
+		return command;
+	}
+
+	public @NotNull S sender() {
+		return sender;
+	}
+
+	public @NotNull String[] rawArguments() {
+		return rawArguments;
+	}
+
+	/**
+	 * @return the context created at {@link ExecutionStage#RESOLVE}
+	 */
+	public @NotNull DelegateCommandContext<S> delegateContext() {
+		return delegateContext;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} the invocation started at
+	 */
+	public long startTime() {
+		return stageTimes[ExecutionStage.RESOLVE.ordinal()];
+	}
+
+	/**
+	 * @param stage the stage
+	 * @return the {@link System#nanoTime()} the stage started at, zero if it wasn't reached
+	 */
+	public long stageTime(@NotNull ExecutionStage stage) {
+		return stageTimes[stage.ordinal()];
+	}
+
+	/**
+	 * The time spent in a stage (it's interceptors included),
+	 * until the next stage reached started
+	 *
+	 * @param stage the stage
+	 * @return the nanoseconds spent in the stage, or -1 if the stage or the next one wasn't reached
+	 */
+	public long duration(@NotNull ExecutionStage stage) {
+		final long start = stageTimes[stage.ordinal()];
+		if (start == 0) return -1;
+
+		for (int next = stage.ordinal() + 1; next < stageTimes.length; next++)
+			if (stageTimes[next] != 0) return stageTimes[next] - start;
+
+		return -1;
+	}
+
+	/**
+	 * @return the syntax found at {@link ExecutionStage#MATCH}
+	 */
+	public @Nullable CommandSyntax<S> syntax() {
+		return syntax;
+	}
+
+	/**
+	 * @return the context parsed at {@link ExecutionStage#PARSE}
+	 */
+	public @Nullable CommandContext<S> context() {
+		return context;
+	}
+
+	/**
+	 * @return the sender mapped at {@link ExecutionStage#MAP_SENDER}
+	 */
+	public @Nullable Object mappedSender() {
+		return mappedSender;
+	}
+
+	/**
+	 * @return the stage that ended the invocation early, null if the syntax or the default execution was executed
+	 */
+	public @Nullable ExecutionStage haltedAt() {
+		return haltedAt;
+	}
+
+	/**
+	 * @return the result of the execution, null until the syntax or the default execution is executed
+	 */
+	public @Nullable CommandExecutionCoordinator.ExecutionResult result() {
+		return result;
+	}
+
+	void syntax(@NotNull CommandSyntax<S> syntax) {
+		this.syntax = syntax;
+	}
+
+	void context(@NotNull CommandContext<S> context) {
+		this.context = context;
+	}
+
+	void mappedSender(@NotNull Object mappedSender) {
+		this.mappedSender = mappedSender;
+	}
+
+	void start(@NotNull ExecutionStage stage) {
+		stageTimes[stage.ordinal()] = System.nanoTime();
+	}
+
+	void halt(@NotNull ExecutionStage stage) {
+		this.haltedAt = stage;
+	}
+
+	void complete(@Nullable CommandExecutionCoordinator.ExecutionResult result) {
+		this.result = result;
+	}
+
+}
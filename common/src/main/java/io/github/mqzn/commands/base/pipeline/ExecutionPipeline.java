@@ -0,0 +1,347 @@
+package io.github.mqzn.commands.base.pipeline;
+
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.CommandRequirement;
+import io.github.mqzn.commands.base.audit.AuditRecord;
+import io.github.mqzn.commands.base.audit.AuditSink;
+import io.github.mqzn.commands.base.caption.CaptionKey;
+import io.github.mqzn.commands.base.context.CommandContext;
+import io.github.mqzn.commands.base.context.ContextPool;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import io.github.mqzn.commands.base.cooldown.CooldownCaption;
+import io.github.mqzn.commands.base.cooldown.RateLimitCaption;
+import io.github.mqzn.commands.base.manager.CommandExecutionCoordinator;
+import io.github.mqzn.commands.base.manager.CommandManager;
+import io.github.mqzn.commands.base.syntax.CommandSyntax;
+import io.github.mqzn.commands.exceptions.UnknownCommandSenderType;
+import io.github.mqzn.commands.utilities.TimeParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The execution of a command as an explicit sequence of {@link ExecutionStage}s,
+ * where {@link ExecutionInterceptor}s can be registered before the step of each stage.
+ * <p>
+ * Each step and each interceptor returns one of the constant {@link StageResult}s,
+ * so a stage ends the invocation by halting instead of throwing,
+ * and running the stages allocates nothing but the {@link ExecutionInvocation} itself.
+ * The interceptors are kept in copy-on-write arrays,
+ * registering them is safe while commands are being executed.
+ *
+ * @param <S> the sender type
+ */
+public final class ExecutionPipeline<S> {
+
+	private final static ExecutionStage[] STAGES = ExecutionStage.values();
+
+	@NotNull
+	private final CommandManager<?, S> manager;
+
+	// the interceptors of each stage, by the ordinal of the stage
+	@NotNull
+	private volatile ExecutionInterceptor<S>[][] interceptors;
+
+	// null unless the contexts are recycled
+	@Nullable
+	private volatile ContextPool<S> contextPool;
+
+	@SuppressWarnings("unchecked")
+	public ExecutionPipeline(@NotNull CommandManager<?, S> manager) {
+		this.manager = manager;
+
+		ExecutionInterceptor<S>[][] empty = new ExecutionInterceptor[STAGES.length][];
+		Arrays.fill(empty, new ExecutionInterceptor[0]);
+		this.interceptors = empty;
+	}
+
+	/**
+	 * Registers an interceptor that runs before the step of a stage,
+	 * the interceptors of a stage run in the order they're registered
+	 *
+	 * @param stage       the stage to intercept
+	 * @param interceptor the interceptor
+	 */
+	public synchronized void intercept(@NotNull ExecutionStage stage, @NotNull ExecutionInterceptor<S> interceptor) {
+		ExecutionInterceptor<S>[][] copy = interceptors.clone();
+		ExecutionInterceptor<S>[] current = copy[stage.ordinal()];
+
+		copy[stage.ordinal()] = Arrays.copyOf(current, current.length + 1);
+		copy[stage.ordinal()][current.length] = interceptor;
+		this.interceptors = copy;
+	}
+
+	/**
+	 * Unregisters an interceptor of a stage
+	 *
+	 * @param stage       the stage intercepted
+	 * @param interceptor the interceptor
+	 * @return whether the interceptor was registered
+	 */
+	public synchronized boolean removeInterceptor(@NotNull ExecutionStage stage, @NotNull ExecutionInterceptor<S> interceptor) {
+		ExecutionInterceptor<S>[] current = interceptors[stage.ordinal()];
+
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] != interceptor) continue;
+
+			ExecutionInterceptor<S>[] removed = Arrays.copyOf(current, current.length - 1);
+			System.arraycopy(current, i + 1, removed, i, current.length - i - 1);
+
+			ExecutionInterceptor<S>[][] copy = interceptors.clone();
+			copy[stage.ordinal()] = removed;
+			this.interceptors = copy;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param stage the stage intercepted
+	 * @return the interceptors of the stage, in the order they run
+	 */
+	public @NotNull List<ExecutionInterceptor<S>> interceptors(@NotNull ExecutionStage stage) {
+		return List.of(interceptors[stage.ordinal()]);
+	}
+
+	/**
+	 * Recycles the contexts of the invocations using the pool supplied
+	 *
+	 * @param contextPool the pool of the contexts, or null to stop recycling them
+	 */
+	public void contextPool(@Nullable ContextPool<S> contextPool) {
+		this.contextPool = contextPool;
+	}
+
+	/**
+	 * Executes a command through all the stages
+	 *
+	 * @param command the command used
+	 * @param sender  the command sender
+	 * @param args    the raw arguments
+	 */
+	public void execute(@NotNull Command<S> command, @NotNull S sender, @NotNull String[] args) {
+		final ContextPool<S> pool = this.contextPool;
+		if (pool == null) {
+			run(new ExecutionInvocation<>(command, sender, args, DelegateCommandContext.create(manager, command, sender, args)), null);
+			return;
+		}
+
+		DelegateCommandContext<S> context = pool.acquire(command, sender, args);
+		try {
+			run(new ExecutionInvocation<>(command, sender, args, context), pool);
+		} finally {
+			pool.release(context);
+		}
+
+	}
+
+	private void run(@NotNull ExecutionInvocation<S> invocation, @Nullable ContextPool<S> pool) {
+		final ExecutionInterceptor<S>[][] interceptors = this.interceptors;
+
+		// the post-processing of an executed syntax runs once the coordinator completes it
+		for (int ordinal = 0; ordinal < ExecutionStage.POST_PROCESS.ordinal(); ordinal++) {
+			ExecutionStage stage = STAGES[ordinal];
+			invocation.start(stage);
+
+			if (intercept(interceptors[ordinal], invocation).isHalted() || step(stage, invocation, pool).isHalted()) {
+				// the default execution ends the invocation at MATCH, without failing it
+				if (invocation.result() == null) invocation.halt(stage);
+				postProcess(invocation);
+				return;
+			}
+
+		}
+
+	}
+
+	@NotNull
+	private StageResult intercept(@NotNull ExecutionInterceptor<S>[] interceptors, @NotNull ExecutionInvocation<S> invocation) {
+		for (ExecutionInterceptor<S> interceptor : interceptors)
+			if (interceptor.intercept(invocation).isHalted()) return StageResult.HALT;
+
+		return StageResult.PROCEED;
+	}
+
+	@NotNull
+	private StageResult step(@NotNull ExecutionStage stage, @NotNull ExecutionInvocation<S> invocation, @Nullable ContextPool<S> pool) {
+		return switch (stage) {
+			case RESOLVE, POST_PROCESS -> StageResult.PROCEED;
+			case AUTHORIZE -> authorize(invocation);
+			case THROTTLE -> throttle(invocation);
+			case MATCH -> match(invocation);
+			case PARSE -> parse(invocation, pool);
+			case MAP_SENDER -> mapSender(invocation);
+			case EXECUTE -> execute(invocation);
+		};
+	}
+
+	@NotNull
+	private StageResult authorize(@NotNull ExecutionInvocation<S> invocation) {
+		final S sender = invocation.sender();
+
+		for (CommandRequirement<S> requirement : invocation.command().requirements()) {
+
+			if (!requirement.accepts(sender, invocation.delegateContext())) {
+				CaptionKey key = requirement.caption();
+				if (key != null)
+					manager.captionRegistry().sendCaption(sender, invocation.delegateContext(), key);
+
+				return StageResult.HALT;
+			}
+
+		}
+
+		return StageResult.PROCEED;
+	}
+
+	@NotNull
+	private StageResult throttle(@NotNull ExecutionInvocation<S> invocation) {
+		final Command<S> command = invocation.command();
+		if (!command.hasCooldown() && !command.hasRateLimit()) return StageResult.PROCEED;
+
+		final S sender = invocation.sender();
+		final String senderName = manager.getSenderWrapper().senderName(sender);
+
+		// the cooldown is only peeked at first, so a call halted by the rate limit doesn't start it
+		if (command.hasCooldown()) {
+			long remaining = manager.cooldownStore().remaining(command, senderName);
+			if (remaining > 0) return cooldownHalt(invocation, remaining);
+		}
+
+		if (command.hasRateLimit()) {
+			long remaining = manager.rateLimitStore().tryAcquire(command, senderName);
+			if (remaining > 0) {
+				manager.captionRegistry().sendCaption(sender, invocation.delegateContext(), null, new RateLimitCaption<>(remaining));
+				return StageResult.HALT;
+			}
+		}
+
+		if (command.hasCooldown()) {
+			// another call of the sender may have started the cooldown since it was peeked at,
+			// the permit taken for this call is given back, since the call is halted
+			long remaining = manager.cooldownStore().tryAcquire(command, senderName);
+			if (remaining > 0) {
+				if (command.hasRateLimit()) manager.rateLimitStore().refund(command, senderName);
+				return cooldownHalt(invocation, remaining);
+			}
+		}
+
+		return StageResult.PROCEED;
+	}
+
+	@NotNull
+	private StageResult cooldownHalt(@NotNull ExecutionInvocation<S> invocation, long remaining) {
+		//send a caption telling the user that he's in a cool down
+		TimeParser parser = TimeParser.parse(remaining);
+		manager.captionRegistry().sendCaption(invocation.sender(), invocation.delegateContext(), null, new CooldownCaption<>(parser));
+		return StageResult.HALT;
+	}
+
+	@NotNull
+	private StageResult match(@NotNull ExecutionInvocation<S> invocation) {
+		final S sender = invocation.sender();
+
+		if (invocation.rawArguments().length == 0) {
+			invocation.command().defaultExecution(sender, invocation.delegateContext());
+			invocation.complete(CommandExecutionCoordinator.ExecutionResult.SUCCESS);
+			return StageResult.HALT;
+		}
+
+		CommandSyntax<S> syntax = manager.findSyntax(invocation.command(), invocation.delegateContext());
+		if (syntax == null) {
+			manager.captionRegistry().sendCaption(sender, invocation.delegateContext(), CaptionKey.UNKNOWN_COMMAND);
+			return StageResult.HALT;
+		}
+
+		invocation.syntax(syntax);
+		return StageResult.PROCEED;
+	}
+
+	@NotNull
+	private StageResult parse(@NotNull ExecutionInvocation<S> invocation, @Nullable ContextPool<S> pool) {
+		final CommandSyntax<S> syntax = syntax(invocation);
+
+		CommandContext<S> context = pool == null
+						? CommandContext.create(manager, syntax, invocation.delegateContext())
+						: pool.context(syntax, invocation.delegateContext());
+
+		context.parse();
+		invocation.context(context);
+
+		// the sender is already notified of the failure
+		return context.hasFailed() ? StageResult.HALT : StageResult.PROCEED;
+	}
+
+	@NotNull
+	private StageResult mapSender(@NotNull ExecutionInvocation<S> invocation) {
+		final CommandSyntax<S> syntax = syntax(invocation);
+
+		if (manager.getSenderWrapper().canBeSender(syntax.getSenderClass())) {
+			invocation.mappedSender(invocation.sender());
+			return StageResult.PROCEED;
+		}
+
+		//custom sender detected
+		//fetching custom sender type
+		Object customSender = manager.senderProviderRegistry().provideSender(invocation.sender(), syntax.getSenderClass());
+
+		//checking if custom sender is null, if so then it failed to find its type, so throwing an exception
+		if (customSender == null) {
+			throw new UnknownCommandSenderType(syntax.getSenderClass());
+		}
+
+		invocation.mappedSender(customSender);
+		return StageResult.PROCEED;
+	}
+
+	@NotNull
+	private StageResult execute(@NotNull ExecutionInvocation<S> invocation) {
+		final Object sender = invocation.mappedSender();
+		final CommandContext<S> context = invocation.context();
+		if (sender == null || context == null)
+			throw new IllegalStateException("The sender must be mapped and the context must be parsed before executing !");
+
+		manager.coordinator().coordinateExecution(sender, syntax(invocation), context)
+						.whenComplete((result, ex) -> {
+							invocation.complete(result);
+							postProcess(invocation);
+						});
+
+		return StageResult.PROCEED;
+	}
+
+	private void postProcess(@NotNull ExecutionInvocation<S> invocation) {
+		invocation.start(ExecutionStage.POST_PROCESS);
+		intercept(interceptors[ExecutionStage.POST_PROCESS.ordinal()], invocation);
+
+		audit(invocation);
+	}
+
+	// the record is only created when it's level is loggable, and formatted by the sink
+	private void audit(@NotNull ExecutionInvocation<S> invocation) {
+		final AuditSink sink = manager.auditSink();
+		if (!sink.isLoggable(AuditRecord.levelOf(invocation.result()))) return;
+
+		sink.accept(new AuditRecord(System.currentTimeMillis(),
+						manager.commandStarter(),
+						manager.getSenderWrapper().senderName(invocation.sender()),
+						invocation.command().name(),
+						invocation.rawArguments(),
+						invocation.result(),
+						invocation.haltedAt(),
+						invocation.stageTime(ExecutionStage.POST_PROCESS) - invocation.startTime()));
+	}
+
+	@NotNull
+	private CommandSyntax<S> syntax(@NotNull ExecutionInvocation<S> invocation) {
+		CommandSyntax<S> syntax = invocation.syntax();
+		if (syntax == null)
+			throw new IllegalStateException("The syntax must be matched before it's parsed or executed !");
+
+		return syntax;
+	}
+
+}
@@ -0,0 +1,55 @@
+package io.github.mqzn.commands.base.pipeline;
+
+/**
+ * The stages of the execution of a command, in the order they run.
+ * <p>
+ * The interceptors of a stage run before it's own step,
+ * so they see everything the previous stages produced.
+ *
+ * @see ExecutionPipeline
+ */
+public enum ExecutionStage {
+
+	/**
+	 * The command and the raw arguments are known, and the context is created
+	 */
+	RESOLVE,
+
+	/**
+	 * The requirements of the command are checked
+	 */
+	AUTHORIZE,
+
+	/**
+	 * The cooldown of the command is checked and restarted
+	 */
+	THROTTLE,
+
+	/**
+	 * The syntax of the raw arguments is found,
+	 * a command used without arguments runs it's default execution instead
+	 */
+	MATCH,
+
+	/**
+	 * The raw arguments are parsed into the syntax found
+	 */
+	PARSE,
+
+	/**
+	 * The sender is mapped into the sender type of the syntax
+	 */
+	MAP_SENDER,
+
+	/**
+	 * The syntax is executed by the coordinator of the manager
+	 */
+	EXECUTE,
+
+	/**
+	 * The invocation is done, it always runs once,
+	 * whether the command was executed or a previous stage halted
+	 */
+	POST_PROCESS
+
+}
@@ -0,0 +1,18 @@
+package io.github.mqzn.commands.base.pipeline;
+
+/**
+ * The outcome of a stage or of an interceptor,
+ * halting ends the invocation without throwing
+ * (any caption to the sender is sent by whoever halts)
+ */
+public enum StageResult {
+
+	PROCEED,
+
+	HALT;
+
+	public boolean isHalted() {
+		return this == HALT;
+	}
+
+}
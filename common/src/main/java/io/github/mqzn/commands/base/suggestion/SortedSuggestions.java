@@ -0,0 +1,83 @@
+package io.github.mqzn.commands.base.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable array of suggestions stringified once and sorted
+ * case-insensitively, so the suggestions starting with a prefix
+ * are found by a binary search instead of testing each one of them.
+ */
+public final class SortedSuggestions {
+
+	@NotNull
+	public final static SortedSuggestions EMPTY = new SortedSuggestions(new String[0]);
+
+	@NotNull
+	private final String[] values;
+
+	private SortedSuggestions(@NotNull String[] values) {
+		this.values = values;
+	}
+
+	/**
+	 * Stringifies, sorts and removes the duplicates of the values
+	 *
+	 * @param values the suggested values
+	 * @return the sorted suggestions
+	 */
+	public static @NotNull SortedSuggestions of(@NotNull Collection<?> values) {
+		if (values.isEmpty()) return EMPTY;
+
+		String[] strings = new String[values.size()];
+		int size = 0;
+		for (Object value : values)
+			strings[size++] = String.valueOf(value);
+
+		Arrays.sort(strings, String.CASE_INSENSITIVE_ORDER);
+
+		// removing the duplicates, they're adjacent after sorting
+		int distinct = 1;
+		for (int i = 1; i < size; i++) {
+			if (!strings[i].equals(strings[distinct - 1]))
+				strings[distinct++] = strings[i];
+		}
+
+		return new SortedSuggestions(distinct == size ? strings : Arrays.copyOf(strings, distinct));
+	}
+
+	/**
+	 * Collects the suggestions starting with the prefix (case-insensitive)
+	 * until the collector is full
+	 *
+	 * @param prefix    the prefix typed
+	 * @param collector the collector of the suggestions
+	 */
+	public void collect(@NotNull String prefix, @NotNull SuggestionCollector collector) {
+		for (int i = lowerBound(prefix); i < values.length && !collector.isFull(); i++) {
+			String value = values[i];
+			if (!value.regionMatches(true, 0, prefix, 0, prefix.length())) break;
+
+			collector.add(value);
+		}
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	// the index of the first value that isn't lower than the prefix
+	private int lowerBound(@NotNull String prefix) {
+		int low = 0, high = values.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (String.CASE_INSENSITIVE_ORDER.compare(values[middle], prefix) < 0) low = middle + 1;
+			else high = middle;
+		}
+
+		return low;
+	}
+
+}
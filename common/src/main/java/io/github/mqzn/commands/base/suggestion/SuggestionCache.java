@@ -0,0 +1,139 @@
+package io.github.mqzn.commands.base.suggestion;
+
+import io.github.mqzn.commands.arguments.Argument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of the results of the {@link SuggestionProvider}s, per (argument, prefix),
+ * and per sender for the providers caching {@link SuggestionProvider.Caching#PER_SENDER},
+ * each result expires after a fixed time to live.
+ * <p>
+ * The results are cached as futures, so while a provider is still working
+ * on a prefix, the following tab-completions of it wait for the same call
+ * instead of calling the provider again. The entry is claimed with a placeholder future
+ * before the provider is called, so the provider never runs inside the map
+ * (it may block or use the cache without holding up the other keys).
+ */
+public final class SuggestionCache {
+
+	public final static Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(5);
+
+	private final static int MAX_ENTRIES = 1024;
+
+	@NotNull
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+	private final long timeToLive;
+
+	public SuggestionCache(@NotNull Duration timeToLive) {
+		this.timeToLive = timeToLive.toNanos();
+	}
+
+	public SuggestionCache() {
+		this(DEFAULT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * Fetches the cached result of the argument's provider for the prefix,
+	 * or calls the provider if it's missing or expired
+	 *
+	 * @param argument the argument
+	 * @param prefix   the prefix typed
+	 * @param provider the call to the provider
+	 * @return the future suggestions
+	 */
+	public @NotNull CompletableFuture<List<String>> get(@NotNull Argument<?> argument,
+	                                                    @NotNull String prefix,
+	                                                    @NotNull Supplier<CompletableFuture<List<String>>> provider) {
+		return get(argument, prefix, null, provider);
+	}
+
+	/**
+	 * Fetches the cached result of the argument's provider for the prefix and the sender,
+	 * or calls the provider if it's missing or expired
+	 *
+	 * @param argument the argument
+	 * @param prefix   the prefix typed
+	 * @param sender   the identity of the sender, null if the result is shared by all the senders
+	 * @param provider the call to the provider
+	 * @return the future suggestions
+	 */
+	public @NotNull CompletableFuture<List<String>> get(@NotNull Argument<?> argument,
+	                                                    @NotNull String prefix,
+	                                                    @Nullable String sender,
+	                                                    @NotNull Supplier<CompletableFuture<List<String>>> provider) {
+		final long now = System.nanoTime();
+		final Key key = new Key(argument, prefix, sender);
+
+		while (true) {
+			Entry current = entries.get(key);
+			if (current != null && isValid(current, now)) return current.future;
+
+			if (entries.size() >= MAX_ENTRIES) purgeExpired(now);
+
+			Entry claimed = new Entry(new CompletableFuture<>(), now);
+			boolean won = current == null ? entries.putIfAbsent(key, claimed) == null : entries.replace(key, current, claimed);
+			if (!won) continue; // another tab-completion claimed it first
+
+			try {
+				provider.get().whenComplete((suggestions, ex) -> {
+					if (ex != null) claimed.future.completeExceptionally(ex);
+					else claimed.future.complete(suggestions);
+				});
+			} catch (RuntimeException ex) {
+				claimed.future.completeExceptionally(ex);
+			}
+
+			return claimed.future;
+		}
+
+	}
+
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private boolean isValid(@NotNull Entry entry, long now) {
+		return now - entry.createdAt <= timeToLive && !entry.future.isCompletedExceptionally();
+	}
+
+	private void purgeExpired(long now) {
+		entries.values().removeIf((entry) -> now - entry.createdAt > timeToLive);
+
+		// too many prefixes typed within the time to live
+		if (entries.size() >= MAX_ENTRIES) entries.clear();
+	}
+
+	private record Key(@NotNull Argument<?> argument, @NotNull String prefix, @Nullable String sender) {
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && other.argument == argument
+							&& other.prefix.equals(prefix) && Objects.equals(other.sender, sender);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * System.identityHashCode(argument) + prefix.hashCode()) + Objects.hashCode(sender);
+		}
+
+	}
+
+	private record Entry(@NotNull CompletableFuture<List<String>> future, long createdAt) {
+
+	}
+
+}
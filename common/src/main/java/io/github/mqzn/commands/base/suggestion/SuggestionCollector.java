@@ -0,0 +1,67 @@
+package io.github.mqzn.commands.base.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the suggestions of a single tab-completion,
+ * removing the duplicates suggested by different syntaxes
+ * and ignoring anything after the limit is reached.
+ */
+public final class SuggestionCollector {
+
+	public final static int DEFAULT_LIMIT = 100;
+
+	@NotNull
+	private final Set<String> suggestions = new LinkedHashSet<>();
+
+	private final int limit;
+
+	public SuggestionCollector(int limit) {
+		this.limit = limit;
+	}
+
+	public SuggestionCollector() {
+		this(DEFAULT_LIMIT);
+	}
+
+	/**
+	 * Adds a suggestion, unless it was already added or the collector is full
+	 *
+	 * @param suggestion the suggestion
+	 * @return whether the suggestion was added
+	 */
+	public boolean add(@NotNull String suggestion) {
+		return !isFull() && suggestions.add(suggestion);
+	}
+
+	public boolean isFull() {
+		return suggestions.size() >= limit;
+	}
+
+	public int size() {
+		return suggestions.size();
+	}
+
+	/**
+	 * The suggestions collected, the exact case matches of the prefix first,
+	 * otherwise in the order they were collected (by syntax, then by the order of each argument)
+	 *
+	 * @param prefix the prefix typed
+	 * @return the ranked suggestions
+	 */
+	public @NotNull List<String> toList(@NotNull String prefix) {
+		List<String> ranked = new ArrayList<>(suggestions);
+		ranked.sort((first, second) -> {
+			boolean firstExact = first.startsWith(prefix), secondExact = second.startsWith(prefix);
+			return firstExact == secondExact ? 0 : firstExact ? -1 : 1;
+		});
+
+		return ranked;
+	}
+
+}
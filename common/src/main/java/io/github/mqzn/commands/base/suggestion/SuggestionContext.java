@@ -0,0 +1,20 @@
+package io.github.mqzn.commands.base.suggestion;
+
+import io.github.mqzn.commands.base.Command;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The context of a tab-completion
+ *
+ * @param sender       the sender typing the command
+ * @param command      the command being typed
+ * @param rawArguments the arguments typed, the last one is the current token
+ * @param prefix       the current token
+ * @param <S>          the sender type
+ */
+public record SuggestionContext<S>(@NotNull S sender,
+                                   @NotNull Command<S> command,
+                                   @NotNull String[] rawArguments,
+                                   @NotNull String prefix) {
+
+}
@@ -0,0 +1,60 @@
+package io.github.mqzn.commands.base.suggestion;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supplies the suggestions of an argument asynchronously,
+ * for suggestions that come from slow sources (e.g: a database or a proxy)
+ * <p>
+ * The manager caches the result per (argument, prefix) and, by default, never waits for it,
+ * so a result that isn't ready yet is used by the next tab-completion, see {@link #caching()}
+ * and {@link io.github.mqzn.commands.base.manager.AbstractCommandManager#suggestionTimeout(java.time.Duration)}.
+ *
+ * @param <S> the sender type
+ * @see SuggestionContext
+ */
+@FunctionalInterface
+public interface SuggestionProvider<S> {
+
+	/**
+	 * Supplies the suggestions for the current token,
+	 * suggestions that don't start with the prefix are ignored
+	 *
+	 * @param context the context of the tab-completion
+	 * @return the future suggestions
+	 */
+	@NotNull CompletableFuture<? extends Collection<String>> suggest(@NotNull SuggestionContext<S> context);
+
+	/**
+	 * How the suggestions are cached, a provider whose suggestions depend on the sender
+	 * (e.g: filtered by his permissions) must cache them per sender, or not at all
+	 *
+	 * @return the caching of the suggestions
+	 */
+	default @NotNull Caching caching() {
+		return Caching.SHARED;
+	}
+
+	enum Caching {
+
+		/**
+		 * Cached per (argument, prefix), shared by all the senders
+		 */
+		SHARED,
+
+		/**
+		 * Cached per (argument, prefix, sender)
+		 */
+		PER_SENDER,
+
+		/**
+		 * Never cached, the provider is called by every tab-completion
+		 */
+		NONE
+
+	}
+
+}
@@ -5,9 +5,7 @@ import io.github.mqzn.commands.arguments.ArgumentLiteral;
 import io.github.mqzn.commands.base.Information;
 import io.github.mqzn.commands.base.context.CommandContext;
 import io.github.mqzn.commands.base.context.DelegateCommandContext;
-import io.github.mqzn.commands.base.manager.AmbiguityChecker;
 import io.github.mqzn.commands.base.manager.CommandManager;
-import io.github.mqzn.commands.base.manager.flags.ContextFlagRegistry;
 import io.github.mqzn.commands.utilities.text.TextConvertible;
 import lombok.Getter;
 import lombok.NonNull;
@@ -16,9 +14,7 @@ import net.kyori.adventure.text.TextComponent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 public final class CommandSyntax<S> implements TextConvertible<S> {
 
@@ -46,6 +42,15 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 	private final SyntaxFlags flags;
 	private final int trimmedLength;
 	private final int withoutFlagsOrOptionalLength;
+	private final boolean hasLiteralArgs;
+	private final boolean useSpace;
+
+	// the slot of each argument id, exactly as declared and lower-cased
+	@NotNull
+	private final Map<String, Integer> argumentSlots;
+	@NotNull
+	private final Map<String, Integer> foldedArgumentSlots;
+
 	@Nullable
 	@Getter
 	private Information info = null;
@@ -63,6 +68,18 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 		this.arguments = args;
 		this.trimmedLength = trimmedSyntaxLength();
 		this.withoutFlagsOrOptionalLength = trimmedLength - flags.count();
+		this.hasLiteralArgs = args.stream().anyMatch((arg) -> arg instanceof ArgumentLiteral);
+		this.useSpace = args.stream().anyMatch(Argument::useRemainingSpace);
+
+		Map<String, Integer> slots = new HashMap<>(), foldedSlots = new HashMap<>();
+		for (int slot = 0; slot < args.size(); slot++) {
+			String id = args.get(slot).id();
+			slots.putIfAbsent(id, slot);
+			foldedSlots.putIfAbsent(id.toLowerCase(Locale.ROOT), slot);
+		}
+
+		this.argumentSlots = Map.copyOf(slots);
+		this.foldedArgumentSlots = Map.copyOf(foldedSlots);
 	}
 
 	<C> CommandSyntax(@NotNull Class<C> senderClass,
@@ -101,6 +118,20 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 		return arguments.get(index);
 	}
 
+	/**
+	 * Finds the position of an argument in this syntax by it's id (case-insensitive),
+	 * the positions are computed once when the syntax is created
+	 *
+	 * @param id the argument id
+	 * @return the position of the first argument with that id, or -1 if there's none
+	 */
+	public int slotOf(@NotNull String id) {
+		Integer slot = argumentSlots.get(id);
+		if (slot == null) slot = foldedArgumentSlots.get(id.toLowerCase(Locale.ROOT));
+
+		return slot == null ? -1 : slot;
+	}
+
 	public void setInfo(@NotNull String permission, @NotNull String description) {
 		this.info = new Information(permission, description);
 	}
@@ -131,14 +162,14 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 	 */
 	public boolean matchesContext(@NotNull DelegateCommandContext<S> commandContext) {
 
-		if (!AmbiguityChecker.hasLiteralArgs(this) && useSpace()) {
+		if (!hasLiteralArgs && useSpace) {
 			return true;
 		}
 
 
 		final int capacity = this.arguments.size();
 
-		final int maxRawArgsCount = commandContext.getRawArguments().size();
+		final int maxRawArgsCount = commandContext.commandLine().size();
 		final int minRawArgsCount = maxRawArgsCount - commandContext.flagsUsed();
 
 		/*if(capacity < minRawArgsCount || capacity > maxRawArgsCount) {
@@ -149,6 +180,7 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 
 			Argument<?> required = arguments.get(index);
 
+			rawIndex = commandContext.skipFlags(rawIndex);
 			String raw = commandContext.getRawArgument(rawIndex);
 
 			if (raw == null) {
@@ -158,11 +190,7 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 					continue;
 				}
 
-				return rawIndex < commandContext.getRawArguments().size();
-			}
-
-			if (ContextFlagRegistry.isRawArgumentFlag(raw)) {
-				raw = commandContext.getRawArgument(++rawIndex);
+				return rawIndex < commandContext.commandLine().size();
 			}
 
 			if (required instanceof ArgumentLiteral && !required.id().equalsIgnoreCase(raw)) {
@@ -178,10 +206,11 @@ public final class CommandSyntax<S> implements TextConvertible<S> {
 	}
 
 	public boolean useSpace() {
-		for (var arg : arguments)
-			if (arg.useRemainingSpace()) return true;
+		return useSpace;
+	}
 
-		return false;
+	public boolean hasLiteralArgs() {
+		return hasLiteralArgs;
 	}
 
 	public @NotNull List<Argument<?>> getArguments() {
@@ -0,0 +1,143 @@
+package io.github.mqzn.commands.base.syntax;
+
+import io.github.mqzn.commands.arguments.ParseTarget;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The values of the arguments of a syntax, parsed by the {@link SyntaxTree}
+ * while choosing it among the other syntaxes matching the same input,
+ * so the context can replay them instead of parsing the same tokens again
+ *
+ * @see SyntaxTree#find(io.github.mqzn.commands.base.context.DelegateCommandContext)
+ */
+public final class ParsedArguments {
+
+	// the memoized outcomes of parsing a token with an argument
+	final static byte UNKNOWN = 0, PARSED = 1, FAILED = 2;
+
+	// how a value was written, NONE if the argument wasn't parsed
+	private final static byte NONE = 0, OBJECT = 1, LONG = 2, DOUBLE = 3, BOOLEAN = 4;
+
+	@NotNull
+	private final CommandSyntax<?> syntax;
+
+	// the values by the position of their arguments in the syntax
+	private final byte @NotNull [] kinds;
+
+	private final long @NotNull [] primitives;
+
+	private final Object @NotNull [] objects;
+
+	ParsedArguments(@NotNull CommandSyntax<?> syntax) {
+		final int length = syntax.length();
+		this.syntax = syntax;
+		this.kinds = new byte[length];
+		this.primitives = new long[length];
+		this.objects = new Object[length];
+	}
+
+	/**
+	 * @return the syntax the values were parsed for
+	 */
+	public @NotNull CommandSyntax<?> syntax() {
+		return syntax;
+	}
+
+	/**
+	 * Writes the value parsed for an argument into the target,
+	 * the same way the argument would have written it
+	 *
+	 * @param argument the position of the argument in the syntax
+	 * @param target   the target receiving the value
+	 * @return whether the argument was parsed, otherwise nothing is written
+	 */
+	public boolean replay(int argument, @NotNull ParseTarget target) {
+		if (argument < 0 || argument >= kinds.length) return false;
+
+		switch (kinds[argument]) {
+			case NONE -> {
+				return false;
+			}
+			case LONG -> target.longValue(primitives[argument]);
+			case DOUBLE -> target.doubleValue(Double.longBitsToDouble(primitives[argument]));
+			case BOOLEAN -> target.booleanValue(primitives[argument] != 0);
+			default -> target.value(objects[argument]);
+		}
+
+		return true;
+	}
+
+	// the outcomes and the values of parsing each token with each argument, shared by the candidates
+	// and reused by the dispatches of a thread, the values of the winner are copied out of it
+	final static class Memo implements ParseTarget {
+
+		byte @NotNull [] outcomes = new byte[0];
+
+		private byte @NotNull [] kinds = new byte[0];
+
+		private long @NotNull [] primitives = new long[0];
+
+		private Object @NotNull [] objects = new Object[0];
+
+		// the slots in use by the current dispatch
+		private int size;
+
+		// the slot the argument being parsed writes into
+		int slot;
+
+		void reset(int size) {
+			if (outcomes.length < size) {
+				outcomes = new byte[size];
+				kinds = new byte[size];
+				primitives = new long[size];
+				objects = new Object[size];
+			} else {
+				Arrays.fill(outcomes, 0, size, UNKNOWN);
+				Arrays.fill(kinds, 0, size, OBJECT);
+			}
+
+			this.size = size;
+		}
+
+		// drops the references to the values parsed, once the dispatch is done
+		void clear() {
+			Arrays.fill(objects, 0, size, null);
+			size = 0;
+		}
+
+		void copy(int slot, @NotNull ParsedArguments parsed, int argument) {
+			parsed.kinds[argument] = kinds[slot] == NONE ? OBJECT : kinds[slot];
+			parsed.primitives[argument] = primitives[slot];
+			parsed.objects[argument] = objects[slot];
+		}
+
+		@Override
+		public void value(@Nullable Object value) {
+			objects[slot] = value;
+			kinds[slot] = OBJECT;
+		}
+
+		@Override
+		public void longValue(long value) {
+			primitives[slot] = value;
+			kinds[slot] = LONG;
+		}
+
+		@Override
+		public void doubleValue(double value) {
+			primitives[slot] = Double.doubleToRawLongBits(value);
+			kinds[slot] = DOUBLE;
+		}
+
+		@Override
+		public void booleanValue(boolean value) {
+			primitives[slot] = value ? 1 : 0;
+			kinds[slot] = BOOLEAN;
+		}
+
+	}
+
+}
@@ -0,0 +1,375 @@
+package io.github.mqzn.commands.base.syntax;
+
+import io.github.mqzn.commands.arguments.Argument;
+import io.github.mqzn.commands.arguments.ArgumentLiteral;
+import io.github.mqzn.commands.base.Command;
+import io.github.mqzn.commands.base.context.DelegateCommandContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An immutable dispatch tree compiled from the syntaxes of a command,
+ * the edges of each node are either literal tokens (case-insensitive)
+ * or argument types, so finding the syntax of an input
+ * takes time proportional to the input length rather than the number of syntaxes.
+ * <p>
+ * When multiple syntaxes match the literals of the same input, their typed arguments are tried
+ * and the best of them wins: a syntax whose arguments all parse beats one that fails,
+ * then the one matching more tokens by literals or non-string types (e.g: {@code /give 5}
+ * picks {@code <amount>} over {@code <player>}), then the one failing later, then the one registered first.
+ * Each token is parsed at most once for all the candidates sharing an argument,
+ * see {@link Argument#parsesByType()}, the values of the winner are handed to the context
+ * as {@link ParsedArguments} so they're not parsed again, and a single candidate is never parsed here.
+ * The flags in a row are skipped before every token, see {@link DelegateCommandContext#skipFlags(int)}
+ *
+ * @param <S> the sender type
+ * @see CommandSyntax
+ */
+public final class SyntaxTree<S> {
+
+	private final static int NONE = Integer.MAX_VALUE;
+
+	@NotNull
+	private final CommandSyntax<S>[] syntaxes;
+
+	@NotNull
+	private final Node root;
+
+	// syntaxes with no literals and a greedy argument, they match any input
+	private final int catchAll;
+
+	// the memo key of each argument of each syntax, shared by the arguments parsing alike, -1 if never parsed
+	private final int[][] parseKeys;
+
+	private final int parseKeyCount;
+
+	private SyntaxTree(@NotNull CommandSyntax<S>[] syntaxes, @NotNull Node root, int catchAll,
+	                   int[][] parseKeys, int parseKeyCount) {
+		this.syntaxes = syntaxes;
+		this.root = root;
+		this.catchAll = catchAll;
+		this.parseKeys = parseKeys;
+		this.parseKeyCount = parseKeyCount;
+	}
+
+	/**
+	 * Compiles the syntaxes into a dispatch tree,
+	 * the order of the list is the priority of each syntax
+	 *
+	 * @param syntaxes the syntaxes to compile
+	 * @param <S>      the sender type
+	 * @return the compiled tree
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S> @NotNull SyntaxTree<S> compile(@NotNull List<CommandSyntax<S>> syntaxes) {
+		CommandSyntax<S>[] array = syntaxes.toArray(new CommandSyntax[0]);
+
+		MutableNode root = new MutableNode();
+		int catchAll = NONE;
+
+		Map<Object, Integer> keys = new HashMap<>();
+		int[][] parseKeys = new int[array.length][];
+
+		for (int index = 0; index < array.length; index++) {
+			CommandSyntax<S> syntax = array[index];
+			parseKeys[index] = parseKeys(syntax, keys);
+
+			if (!syntax.hasLiteralArgs() && syntax.useSpace()) {
+				catchAll = Math.min(catchAll, index);
+				continue;
+			}
+
+			List<Argument<?>> arguments = syntax.getArguments();
+
+			// the position after which every argument is optional
+			int optionalTail = arguments.size();
+			while (optionalTail > 0 && arguments.get(optionalTail - 1).isOptional())
+				optionalTail--;
+
+			MutableNode node = root;
+			for (int i = 0; i < arguments.size(); i++) {
+				if (i >= optionalTail) node.exhausted.add(index);
+
+				Argument<?> argument = arguments.get(i);
+				node = argument instanceof ArgumentLiteral
+								? node.literals.computeIfAbsent(argument.id().toLowerCase(Locale.ROOT), (k) -> new MutableNode())
+								: node.arguments.computeIfAbsent(argument.type(), (k) -> new MutableNode());
+			}
+
+			node.exhausted.add(index);
+			node.completed.add(index);
+		}
+
+		return new SyntaxTree<>(array, root.freeze(), catchAll, parseKeys, keys.size());
+	}
+
+	private static int @NotNull [] parseKeys(@NotNull CommandSyntax<?> syntax, @NotNull Map<Object, Integer> keys) {
+		List<Argument<?>> arguments = syntax.getArguments();
+		int[] parseKeys = new int[arguments.size()];
+
+		for (int i = 0; i < parseKeys.length; i++) {
+			Argument<?> argument = arguments.get(i);
+			if (argument instanceof ArgumentLiteral || argument.useRemainingSpace()) {
+				parseKeys[i] = -1;
+				continue;
+			}
+
+			Object key = argument.parsesByType() ? new TypeKey(argument.getClass(), argument.type()) : argument;
+			Integer parseKey = keys.get(key);
+			if (parseKey == null) keys.put(key, parseKey = keys.size());
+
+			parseKeys[i] = parseKey;
+		}
+
+		return parseKeys;
+	}
+
+	/**
+	 * Finds the syntax that matches the raw arguments of the context,
+	 * the values parsed to choose it are kept in the context, see {@link DelegateCommandContext#matchedArguments()}
+	 *
+	 * @param context the delegate context of the input
+	 * @return the syntax found, or null if none matches
+	 */
+	public @Nullable CommandSyntax<S> find(@NotNull DelegateCommandContext<S> context) {
+		context.matchedArguments(null);
+
+		final Scratch scratch = Scratch.acquire();
+		try {
+			Candidates candidates = scratch.candidates;
+			if (catchAll != NONE) candidates.add(catchAll);
+
+			collect(root, context, 0, candidates);
+
+			int found = candidates.count > 1 ? best(candidates, context, scratch.memo) : candidates.first;
+			return found == NONE ? null : syntaxes[found];
+		} finally {
+			scratch.release();
+		}
+	}
+
+	// collects the syntaxes whose literals match the input
+	private void collect(@NotNull Node node, @NotNull DelegateCommandContext<S> context, int rawIndex, @NotNull Candidates candidates) {
+		rawIndex = context.skipFlags(rawIndex);
+		String raw = context.getRawArgument(rawIndex);
+
+		if (raw == null) {
+			candidates.addAll(node.exhausted);
+			return;
+		}
+
+		// extra input after a complete syntax is tolerated
+		candidates.addAll(node.completed);
+
+		if (!node.literals.isEmpty()) {
+			Node literal = node.literals.get(raw.toLowerCase(Locale.ROOT));
+			if (literal != null) collect(literal, context, rawIndex + 1, candidates);
+		}
+
+		for (Node argument : node.arguments)
+			collect(argument, context, rawIndex + 1, candidates);
+	}
+
+	// scores the candidates in a single pass, the first of the best scores wins
+	private int best(@NotNull Candidates candidates, @NotNull DelegateCommandContext<S> context,
+	                 @NotNull ParsedArguments.Memo memo) {
+		memo.reset(context.commandLine().size() * parseKeyCount);
+
+		int best = NONE;
+		long bestScore = -1;
+
+		BitSet indices = candidates.indices;
+		for (int index = indices.nextSetBit(0); index >= 0; index = indices.nextSetBit(index + 1)) {
+			long score = score(index, context, memo, null);
+			if (score > bestScore) {
+				best = index;
+				bestScore = score;
+			}
+		}
+
+		// walking the winner again only reads the memo, copying it's values out of it
+		ParsedArguments parsed = new ParsedArguments(syntaxes[best]);
+		score(best, context, memo, parsed);
+		context.matchedArguments(parsed);
+
+		return best;
+	}
+
+	// [valid:1][specific tokens:31][tokens parsed:31], walking the input with the cursor of collect and the context
+	private long score(int index, @NotNull DelegateCommandContext<S> context,
+	                   @NotNull ParsedArguments.Memo memo, @Nullable ParsedArguments parsedArguments) {
+		final List<Argument<?>> arguments = syntaxes[index].getArguments();
+		final int[] keys = parseKeys[index];
+		final Command<S> command = context.commandUsed();
+
+		long specific = 0, parsed = 0;
+		boolean valid = true;
+
+		for (int i = 0, rawIndex = 0; i < arguments.size(); i++, rawIndex++) {
+			Argument<?> argument = arguments.get(i);
+
+			if (argument instanceof ArgumentLiteral) {
+				rawIndex = context.skipFlags(rawIndex);
+				if (context.getRawArgument(rawIndex) != null) specific++;
+				continue;
+			}
+
+			if (argument.useRemainingSpace()) break;
+
+			rawIndex = context.skipFlags(rawIndex);
+			String raw = context.getRawArgument(rawIndex);
+			if (raw == null) break;
+
+			final int slot = rawIndex * parseKeyCount + keys[i];
+			if (!parses(memo, slot, argument, command, raw)) {
+				valid = false;
+				break;
+			}
+
+			if (parsedArguments != null) memo.copy(slot, parsedArguments, i);
+
+			parsed++;
+			if (argument.type() != String.class) specific++;
+		}
+
+		return (valid ? 1L << 62 : 0) | (specific << 31) | parsed;
+	}
+
+	private static boolean parses(@NotNull ParsedArguments.Memo memo, int slot, @NotNull Argument<?> argument,
+	                              @NotNull Command<?> command, @NotNull String raw) {
+		byte outcome = memo.outcomes[slot];
+		if (outcome != ParsedArguments.UNKNOWN) return outcome == ParsedArguments.PARSED;
+
+		try {
+			memo.slot = slot;
+			outcome = argument.tryParse(command, raw, memo).isSuccess() ? ParsedArguments.PARSED : ParsedArguments.FAILED;
+		} catch (RuntimeException ex) {
+			// a broken argument doesn't match, it fails again if it's syntax is used
+			outcome = ParsedArguments.FAILED;
+		}
+
+		memo.outcomes[slot] = outcome;
+		return outcome == ParsedArguments.PARSED;
+	}
+
+	/**
+	 * The syntaxes compiled into this tree, by priority
+	 *
+	 * @return the compiled syntaxes
+	 */
+	public @NotNull List<CommandSyntax<S>> syntaxes() {
+		return List.of(syntaxes);
+	}
+
+	private record Node(@NotNull Map<String, Node> literals,
+	                    @NotNull Node[] arguments,
+	                    int @NotNull [] exhausted,
+	                    int @NotNull [] completed) {
+	}
+
+	// the arguments that accept the same inputs, see Argument#parsesByType
+	private record TypeKey(@NotNull Class<?> argumentClass, @NotNull Class<?> type) {
+	}
+
+	// the syntaxes matched, the first one is kept apart since most inputs match only one
+	private final static class Candidates {
+
+		private int first = NONE, count;
+
+		@Nullable
+		private BitSet indices;
+
+		private void add(int index) {
+			if (index == first) return;
+
+			if (first == NONE) {
+				first = index;
+				count = 1;
+				return;
+			}
+
+			if (indices == null) indices = new BitSet();
+			if (count == 1) indices.set(first);
+
+			if (!indices.get(index)) {
+				indices.set(index);
+				count++;
+			}
+		}
+
+		private void addAll(int @NotNull [] indices) {
+			for (int index : indices)
+				add(index);
+		}
+
+		private void clear() {
+			first = NONE;
+			count = 0;
+			if (indices != null) indices.clear();
+		}
+
+	}
+
+	// the candidates and the memo of a dispatch, reused by the dispatches of a thread
+	private final static class Scratch {
+
+		private final static ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+		@NotNull
+		private final Candidates candidates = new Candidates();
+
+		@NotNull
+		private final ParsedArguments.Memo memo = new ParsedArguments.Memo();
+
+		// whether a dispatch of the thread is using it, e.g: an argument dispatching another command while parsed
+		private boolean busy;
+
+		@NotNull
+		private static Scratch acquire() {
+			Scratch scratch = LOCAL.get();
+			if (scratch.busy) scratch = new Scratch();
+
+			scratch.busy = true;
+			return scratch;
+		}
+
+		private void release() {
+			candidates.clear();
+			memo.clear();
+			busy = false;
+		}
+
+	}
+
+	private final static class MutableNode {
+
+		@NotNull
+		private final Map<String, MutableNode> literals = new HashMap<>();
+
+		@NotNull
+		private final Map<Class<?>, MutableNode> arguments = new LinkedHashMap<>();
+
+		// the syntaxes that match once the input is exhausted here, and the ones that are complete here
+		@NotNull
+		private final Set<Integer> exhausted = new TreeSet<>(), completed = new TreeSet<>();
+
+		@NotNull
+		private Node freeze() {
+			Map<String, Node> frozenLiterals = new HashMap<>(literals.size());
+			literals.forEach((literal, child) -> frozenLiterals.put(literal, child.freeze()));
+
+			Node[] frozenArguments = new Node[arguments.size()];
+			int i = 0;
+			for (MutableNode child : arguments.values())
+				frozenArguments[i++] = child.freeze();
+
+			return new Node(Map.copyOf(frozenLiterals), frozenArguments,
+							exhausted.stream().mapToInt(Integer::intValue).toArray(),
+							completed.stream().mapToInt(Integer::intValue).toArray());
+		}
+
+	}
+
+}
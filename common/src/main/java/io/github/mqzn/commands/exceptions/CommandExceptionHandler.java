@@ -1,5 +1,6 @@
 package io.github.mqzn.commands.exceptions;
 
+import io.github.mqzn.commands.arguments.ParseResult;
 import io.github.mqzn.commands.base.caption.CaptionKey;
 import io.github.mqzn.commands.base.context.CommandContext;
 import io.github.mqzn.commands.base.manager.CommandManager;
@@ -20,11 +21,15 @@ public final class CommandExceptionHandler<S> {
 	@NotNull
 	private final Map<Class<? extends CommandException>, ExceptionCallback<?, S>> callBacks = new HashMap<>();
 
+	@NotNull
+	private final ExceptionCallback<ArgumentParseException, S> defaultParseCallback;
+
 	public CommandExceptionHandler(@NotNull CommandManager<?, S> manager) {
 
 		this.manager = manager;
 
-		registerCallback(ArgumentParseException.class, ((exception, sender, commandContext) -> manager.captionRegistry().sendCaption(sender, commandContext, exception, CaptionKey.INVALID_ARGUMENT)));
+		defaultParseCallback = ((exception, sender, commandContext) -> manager.captionRegistry().sendCaption(sender, commandContext, exception, CaptionKey.INVALID_ARGUMENT));
+		registerCallback(ArgumentParseException.class, defaultParseCallback);
 
 
 	}
@@ -46,7 +51,32 @@ public final class CommandExceptionHandler<S> {
 
 	}
 
-	private interface ExceptionCallback<E extends CommandException, S> {
+	/**
+	 * Handles an argument that failed to parse, the exception is only created
+	 * for a callback of {@link ArgumentParseException} registered by the user,
+	 * otherwise the caption {@link CaptionKey#INVALID_ARGUMENT} is sent without it
+	 * and reads the failure from the context, see {@link CommandContext#parseResult()}
+	 *
+	 * @param result         the failure
+	 * @param input          the input that failed
+	 * @param sender         the sender
+	 * @param commandContext the context of the parse
+	 */
+	public void handleParseFailure(@NotNull ParseResult result,
+	                               @NotNull String input,
+	                               @NotNull S sender,
+	                               @NotNull CommandContext<S> commandContext) {
+
+		if (callBacks.get(ArgumentParseException.class) == defaultParseCallback) {
+			manager.captionRegistry().sendCaption(sender, commandContext, CaptionKey.INVALID_ARGUMENT);
+			return;
+		}
+
+		handleException(result.toException(commandContext.commandUsed(), input), sender, commandContext);
+	}
+
+	@FunctionalInterface
+	public interface ExceptionCallback<E extends CommandException, S> {
 
 
 		void callback(E exception, S sender, CommandContext<S> commandContext);
@@ -25,10 +25,8 @@ interface SpigotCaption {
 					.build();
 
 	Caption<CommandSender> INVALID_ARGUMENT = Caption.<CommandSender>builder(CaptionKey.INVALID_ARGUMENT)
-					.withMessage((sender, context, ex) -> {
-						String msg = ex == null ? "Invalid argument used" : ex.getMessage();
-						return Message.prefixed(Message.INVALID_ARGUMENT_ERROR).append(Component.text(msg, NamedTextColor.DARK_GRAY));
-					})
+					.withMessage((sender, context, ex) -> Message.prefixed(Message.INVALID_ARGUMENT_ERROR)
+									.append(Component.text(Message.invalidArgument(context, ex), NamedTextColor.DARK_GRAY)))
 					.build();
 
 
@@ -37,4 +35,8 @@ interface SpigotCaption {
 					.build();
 
 
+	Caption<CommandSender> EXECUTION_REJECTED = Caption.<CommandSender>builder(CaptionKey.EXECUTION_REJECTED)
+					.withMessage((sender, context, ex) -> Message.prefixed(Message.EXECUTION_ERROR).append(Component.text("The server is too busy to execute this command, try again later !", NamedTextColor.RED)))
+					.build();
+
 }
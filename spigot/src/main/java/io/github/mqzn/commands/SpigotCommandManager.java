@@ -7,10 +7,14 @@ import net.minecraft.server.v1_8_R3.MinecraftServer;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.Executor;
 
 public final class SpigotCommandManager extends AbstractCommandManager<Plugin, CommandSender> {
 
@@ -24,29 +28,85 @@ public final class SpigotCommandManager extends AbstractCommandManager<Plugin, C
 	public SpigotCommandManager(@NotNull Plugin plugin, @NotNull CommandExecutionCoordinator.Type coordinator) {
 		super(plugin, new SpigotSenderWrapper(plugin), coordinator);
 		this.plugin = plugin;
+		this.cmdMap = lookupCommandMap();
+		registerCaptions();
+		shutdownOnDisable();
+	}
+
+	public SpigotCommandManager(@NotNull Plugin plugin, @NotNull Executor executor) {
+		super(plugin, new SpigotSenderWrapper(plugin), executor);
+		this.plugin = plugin;
+		this.cmdMap = lookupCommandMap();
+		registerCaptions();
+		shutdownOnDisable();
+	}
+
+	/**
+	 * Creates a manager that executes the commands on a bounded pool of platform threads
+	 *
+	 * @param plugin        the plugin
+	 * @param threads       the number of threads in the pool
+	 * @param queueCapacity the maximum number of commands waiting for a thread
+	 */
+	public SpigotCommandManager(@NotNull Plugin plugin, int threads, int queueCapacity) {
+		super(plugin, new SpigotSenderWrapper(plugin), threads, queueCapacity);
+		this.plugin = plugin;
+		this.cmdMap = lookupCommandMap();
+		registerCaptions();
+		shutdownOnDisable();
+	}
+
+	/**
+	 * Creates a manager that executes the commands on the executor supplied,
+	 * either asynchronously or in per-sender lanes
+	 *
+	 * @param plugin      the plugin
+	 * @param coordinator {@link CommandExecutionCoordinator.Type#ASYNC} or {@link CommandExecutionCoordinator.Type#PER_SENDER}
+	 * @param executor    the executor to run the commands on
+	 */
+	public SpigotCommandManager(@NotNull Plugin plugin, @NotNull CommandExecutionCoordinator.Type coordinator, @NotNull Executor executor) {
+		super(plugin, new SpigotSenderWrapper(plugin), coordinator, executor);
+		this.plugin = plugin;
+		this.cmdMap = lookupCommandMap();
+		registerCaptions();
+		shutdownOnDisable();
+	}
+
+	public SpigotCommandManager(@NotNull Plugin plugin) {
+		this(plugin, CommandExecutionCoordinator.Type.SYNC);
+	}
+
+
+	private static SimpleCommandMap lookupCommandMap() {
 		try {
 			Field commandMap = MinecraftServer.getServer().server.getClass().getDeclaredField("commandMap");
 			commandMap.setAccessible(true);
-			cmdMap = (SimpleCommandMap) commandMap.get(Bukkit.getServer());
+			return (SimpleCommandMap) commandMap.get(Bukkit.getServer());
 
 		} catch (NoSuchFieldException | IllegalAccessException e) {
 			throw new RuntimeException(e);
 		}
+	}
 
+	// the threads owned by the coordinator are released along with the plugin
+	private void shutdownOnDisable() {
+		Bukkit.getPluginManager().registerEvents(new Listener() {
+			@EventHandler
+			public void onDisable(PluginDisableEvent event) {
+				if (event.getPlugin() == plugin) shutdown();
+			}
+		}, plugin);
+	}
 
+	private void registerCaptions() {
 		captionRegistry.registerCaption(SpigotCaption.INVALID_ARGUMENT);
 		captionRegistry.registerCaption(SpigotCaption.UNKNOWN_COMMAND);
 		captionRegistry.registerCaption(SpigotCaption.NO_PERMISSION);
 		captionRegistry.registerCaption(SpigotCaption.ONLY_PLAYER_EXECUTABLE);
 		captionRegistry.registerCaption(SpigotCaption.NO_HELP_TOPIC_AVAILABLE);
+		captionRegistry.registerCaption(SpigotCaption.EXECUTION_REJECTED);
 	}
 
-
-	public SpigotCommandManager(@NotNull Plugin plugin) {
-		this(plugin, CommandExecutionCoordinator.Type.SYNC);
-	}
-
-
 	@Override
 	public @NotNull Plugin getBootstrap() {
 		return plugin;